@@ -11,10 +11,12 @@ import org.bukkit.Sound;
 import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -31,19 +33,28 @@ import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.blaxk.spawnelytra.util.SchedulerUtil;
 import com.blaxk.spawnelytra.util.MessageUtil;
 import com.blaxk.spawnelytra.util.UpdateUtil;
 import com.blaxk.spawnelytra.command.CommandHandler;
 import com.blaxk.spawnelytra.config.ConfigUpdater;
+import com.blaxk.spawnelytra.config.ConfigWatcher;
 import com.blaxk.spawnelytra.config.LanguageUpdater;
+import com.blaxk.spawnelytra.listener.FlightSession;
+import com.blaxk.spawnelytra.listener.FlightSessionManager;
 import com.blaxk.spawnelytra.listener.SpawnElytra;
+import com.blaxk.spawnelytra.listener.WorldEventRouter;
 import com.blaxk.spawnelytra.data.PlayerDataManager;
+import com.blaxk.spawnelytra.zone.ZoneTransitions;
 import com.blaxk.spawnelytra.integration.PlaceholderAPIIntegration;
 import org.jetbrains.annotations.NotNull;
 
@@ -54,8 +65,11 @@ public final class Main extends JavaPlugin implements Listener {
     private static final String MIGRATION_NOTICE_FILENAME = "MIGRATED_TO_SPAWN_ELYTRA.txt";
 
 private PlayerDataManager playerDataManager;
-    private final Map<String, SpawnElytra> worldInstances = new HashMap<>();
-    private final Map<String, String> lastMenuSent = new HashMap<>();
+    private final Map<String, SpawnElytra> worldInstances = new ConcurrentHashMap<>();
+    private final WorldEventRouter eventRouter = new WorldEventRouter(this);
+    private final FlightSessionManager flightSessions = new FlightSessionManager();
+    private final ZoneTransitions zoneTransitions = new ZoneTransitions(this);
+    private final Map<String, String> lastMenuSent = new ConcurrentHashMap<>();
     private int remainingFirstInstallShows = 5; 
 
     private com.blaxk.spawnelytra.setup.SetupManager setupManager;
@@ -63,6 +77,8 @@ private PlayerDataManager playerDataManager;
     private String latestVersion;
     private boolean updateAvailable;
     private SchedulerUtil.TaskHandle versionCheckTask;
+    private ConfigWatcher configWatcher;
+    private volatile FileConfiguration configSnapshot;
 
     @Override
     public void onEnable() {
@@ -97,6 +113,7 @@ private PlayerDataManager playerDataManager;
         LanguageUpdater.updateLanguages(this);
         MessageUtil.loadMessages(this);
         this.loadWorldConfigurations();
+        this.startConfigWatcher();
     }
 
     private void showFirstInstallWelcomeIfNeeded() {
@@ -118,6 +135,8 @@ private PlayerDataManager playerDataManager;
 
     private void registerListenersAndCommands() {
         Bukkit.getPluginManager().registerEvents(this, this);
+        Bukkit.getPluginManager().registerEvents(this.eventRouter, this);
+        Bukkit.getPluginManager().registerEvents(this.playerDataManager, this);
 
         this.setupManager = new com.blaxk.spawnelytra.setup.SetupManager(this);
         Bukkit.getPluginManager().registerEvents(this.setupManager, this);
@@ -138,6 +157,8 @@ private PlayerDataManager playerDataManager;
 
     @Override
     public void onDisable() {
+        this.stopConfigWatcher();
+
         if (playerDataManager != null) {
             this.playerDataManager.saveAllPlayerData();
         }
@@ -151,6 +172,7 @@ if (versionCheckTask != null) {
             this.setupManager.stopAll();
         }
 
+        this.eventRouter.clear();
         for (final SpawnElytra instance : this.worldInstances.values()) {
             if (instance != null) {
                 for (final Player player : Bukkit.getOnlinePlayers()) {
@@ -159,6 +181,7 @@ if (versionCheckTask != null) {
             }
         }
         this.worldInstances.clear();
+        this.flightSessions.clear();
 
         MessageUtil.shutdown();
     }
@@ -166,6 +189,9 @@ if (versionCheckTask != null) {
     @EventHandler
     public void onPlayerJoin(final PlayerJoinEvent event) {
         final Player player = event.getPlayer();
+        this.flightSessions.end(player.getUniqueId());
+        this.flightSessions.refreshPermissions(player);
+        MessageUtil.updatePlayerLocale(player, player.getLocale());
 
         if (player.isOp() && !this.getConfig().getBoolean("first_install_completed", false)) {
 
@@ -179,8 +205,18 @@ if (versionCheckTask != null) {
 
     @EventHandler
     public void onPlayerQuit(final PlayerQuitEvent event) {
+        final Player player = event.getPlayer();
+        final FlightSession session = this.flightSessions.end(player.getUniqueId());
+        if (session != null && session.getAreaZone() != null) {
+            this.zoneTransitions.leave(player, session.getAreaZone());
+        }
+        this.lastMenuSent.remove(player.getUniqueId().toString());
+        MessageUtil.forgetPlayer(player.getUniqueId());
+    }
 
-        this.lastMenuSent.remove(event.getPlayer().getUniqueId().toString());
+    @EventHandler
+    public void onPlayerLocaleChange(final PlayerLocaleChangeEvent event) {
+        MessageUtil.updatePlayerLocale(event.getPlayer(), event.getLocale());
     }
 
     private void sendUpdateNotification(final Player player) {
@@ -557,7 +593,7 @@ public void sendFirstInstallWelcome(final Player player) {
             final boolean isSelected = currentLanguage.equals(lang);
             
             final String hoverKey = "language_hover_" + lang;
-            final String hoverText = MessageUtil.plain(hoverKey);
+            final String hoverText = MessageUtil.plain(player, hoverKey);
             
             langBuilder.append("[");
             langBuilder.append("<click:run_command:'/spawnelytra set language ").append(lang).append("'>");
@@ -588,7 +624,7 @@ public void sendFirstInstallWelcome(final Player player) {
             final boolean isSelected = currentStyle.equals(style);
             
             final String hoverKey = "style_hover_" + style;
-            final String hoverText = MessageUtil.plain(hoverKey);
+            final String hoverText = MessageUtil.plain(player, hoverKey);
             
             styleBuilder.append("[");
             styleBuilder.append("<click:run_command:'/spawnelytra set style ").append(style).append("'>");
@@ -609,6 +645,8 @@ public void sendFirstInstallWelcome(final Player player) {
     }
 
     private void loadWorldConfigurations() {
+        this.flightSessions.setPermissionCacheMillis(this.getConfig().getLong("permissions.cache_seconds", 5L) * 1000L);
+
         final ConfigurationSection worldsSection = this.getConfig().getConfigurationSection("worlds");
         if (worldsSection == null) {
             this.getLogger().warning("No worlds configuration found! Creating default for 'world'...");
@@ -624,7 +662,6 @@ public void sendFirstInstallWelcome(final Player player) {
                     if (world != null) {
                         final SpawnElytra instance = new SpawnElytra(this, worldName, worldConfig);
                         this.worldInstances.put(worldName, instance);
-                        Bukkit.getPluginManager().registerEvents(instance, this);
                     } else {
                         this.getLogger().warning("World '" + worldName + "' not found, skipping Spawn Elytra configuration");
                     }
@@ -632,6 +669,8 @@ public void sendFirstInstallWelcome(final Player player) {
             }
         }
 
+        this.eventRouter.setHandlers(this.worldInstances);
+
         if (this.worldInstances.isEmpty()) {
             this.getLogger().warning("No valid worlds configured for Spawn Elytra!");
         }
@@ -999,6 +1038,14 @@ public void sendFirstInstallWelcome(final Player player) {
         });
     }
 
+    public FlightSessionManager getFlightSessions() {
+        return this.flightSessions;
+    }
+
+    public ZoneTransitions getZoneTransitions() {
+        return this.zoneTransitions;
+    }
+
     public PlayerDataManager getPlayerDataManager() {
         return this.playerDataManager;
     }
@@ -1007,14 +1054,53 @@ public void sendFirstInstallWelcome(final Player player) {
         return this.setupManager;
     }
 
+    @Override
+    public @NotNull FileConfiguration getConfig() {
+        final FileConfiguration snapshot = this.configSnapshot;
+        return snapshot != null ? snapshot : super.getConfig();
+    }
+
+    @Override
+    public void reloadConfig() {
+        this.configSnapshot = null;
+        super.reloadConfig();
+    }
+
     public void reload() {
         this.reloadConfig();
         MessageUtil.loadMessages(this);
+        this.restart();
+    }
 
+    public boolean reload(final FileConfiguration config, final Runnable applyMessages) {
+        final FileConfiguration current = this.getConfig();
+        if (config.saveToString().equals(current.saveToString())) {
+            return false;
+        }
+        if (current.getDefaults() != null) {
+            config.setDefaults(current.getDefaults());
+        }
+        this.configSnapshot = config;
+        applyMessages.run();
+        this.restart();
+        return true;
+    }
+
+    private void restart() {
         if (setupManager != null) {
             this.setupManager.stopAll();
         }
 
+        final Set<UUID> inZone = new HashSet<>();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final FlightSession session = this.flightSessions.get(player.getUniqueId());
+            if (session != null && session.getAreaZone() != null) {
+                this.zoneTransitions.leave(player, session.getAreaZone());
+                inZone.add(player.getUniqueId());
+            }
+        }
+
+        this.eventRouter.clear();
         for (final SpawnElytra instance : this.worldInstances.values()) {
             if (instance != null) {
                 for (final Player player : Bukkit.getOnlinePlayers()) {
@@ -1023,8 +1109,45 @@ public void sendFirstInstallWelcome(final Player player) {
             }
         }
         this.worldInstances.clear();
+        this.flightSessions.clear();
 
         this.loadWorldConfigurations();
+        for (final Player player : Bukkit.getOnlinePlayers()) {
+            final boolean hadZone = inZone.contains(player.getUniqueId());
+            SchedulerUtil.runAtEntityNow(this, player, () -> {
+                final SpawnElytra instance = this.worldInstances.get(player.getWorld().getName());
+                if (instance != null) {
+                    instance.refresh(player, hadZone);
+                } else if (hadZone) {
+                    SpawnElytra.releaseAllowFlight(player);
+                }
+            });
+        }
+        this.startConfigWatcher();
+    }
+
+    private void startConfigWatcher() {
+        final boolean enabled = this.getConfig().getBoolean("hot_reload.enabled", false);
+        final long debounceMillis = this.getConfig().getLong("hot_reload.debounce_millis", 500L);
+        if (this.configWatcher != null && enabled && this.configWatcher.getDebounceMillis() == debounceMillis) {
+            return;
+        }
+        this.stopConfigWatcher();
+        if (enabled) {
+            this.configWatcher = new ConfigWatcher(this, debounceMillis);
+            this.configWatcher.start();
+        }
+    }
+
+    private void stopConfigWatcher() {
+        if (this.configWatcher != null) {
+            this.configWatcher.stop();
+            this.configWatcher = null;
+        }
+    }
+
+    public ConfigWatcher getConfigWatcher() {
+        return this.configWatcher;
     }
 
     private class VersionChecker {
@@ -1,8 +1,23 @@
 package com.blaxk.spawnelytra.command;
 
 import com.blaxk.spawnelytra.Main;
+import com.blaxk.spawnelytra.config.ConfigWatcher;
+import com.blaxk.spawnelytra.data.Leaderboard;
+import com.blaxk.spawnelytra.data.MmapPlayerDataStore;
+import com.blaxk.spawnelytra.data.PdcPlayerDataStore;
+import com.blaxk.spawnelytra.data.PlayerDataBulkMigration;
+import com.blaxk.spawnelytra.data.PlayerDataFlusher;
+import com.blaxk.spawnelytra.data.PlayerDataManager;
+import com.blaxk.spawnelytra.data.PlayerDataStore;
+import com.blaxk.spawnelytra.data.YamlPlayerDataStore;
+import com.blaxk.spawnelytra.listener.FlightSessionManager;
 import com.blaxk.spawnelytra.listener.SpawnElytra;
 import com.blaxk.spawnelytra.util.MessageUtil;
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import com.blaxk.spawnelytra.util.SmallCapsUtil;
+import com.blaxk.spawnelytra.zone.SpawnZone;
+import com.blaxk.spawnelytra.zone.ZoneIndex;
+import com.blaxk.spawnelytra.zone.ZoneTransitions;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
@@ -13,11 +28,13 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class CommandHandler implements CommandExecutor, TabCompleter {
@@ -98,22 +115,30 @@ public class CommandHandler implements CommandExecutor, TabCompleter {
                     MessageUtil.send(sender, "command_player_only");
                     return true;
                 }
-                final SpawnElytra elytraInstance = this.plugin.getSpawnElytraInstance();
+                final Player viewer = (Player) sender;
+                SpawnElytra elytraInstance = this.plugin.getSpawnElytraInstance(viewer.getWorld().getName());
+                if (elytraInstance == null) {
+                    elytraInstance = this.plugin.getSpawnElytraInstance();
+                }
                 if (elytraInstance == null) {
                     MessageUtil.send(sender, "spawnelytra_not_available");
                     return true;
                 }
+                String zoneName = null;
                 int seconds = 30;
-                if (args.length >= 2) {
+                for (int i = 1; i < args.length; i++) {
                     try {
-                        final int parsed = Integer.parseInt(args[1]);
+                        final int parsed = Integer.parseInt(args[i]);
                         if (parsed > 0) {
                             seconds = Math.min(parsed, 600);
                         }
                     } catch (final NumberFormatException ignored) {
+                        if (zoneName == null) {
+                            zoneName = args[i];
+                        }
                     }
                 }
-                elytraInstance.visualizeArea((Player) sender, seconds);
+                elytraInstance.visualizeArea(viewer, zoneName, seconds);
                 return true;
 
 case "set":
@@ -221,6 +246,11 @@ case "dismiss":
                             this.plugin.getSetupManager().selectActivationMode(pl, args[2]);
                         }
                         return true;
+                    case "zone":
+                        if (args.length >= 3) {
+                            this.plugin.getSetupManager().selectZone(pl, args[2]);
+                        }
+                        return true;
                     case "toggle":
                         if (args.length >= 3) {
                             final String which = args[2].toLowerCase(Locale.ROOT);
@@ -236,18 +266,39 @@ case "dismiss":
                         return true;
                 }
 
+            case "top":
+                this.sendTop(sender, args.length >= 2 ? args[1].toLowerCase(Locale.ROOT) : "fly",
+                        args.length >= 3 ? PlayerDataStore.Window.fromString(args[2]) : null);
+                return true;
+
             case "debug":
                 if (!sender.hasPermission("spawnelytra.admin")) {
                     MessageUtil.send(sender, "no_permission");
                     return true;
                 }
-                if (!(sender instanceof Player)) {
-                    MessageUtil.send(sender, "command_player_only");
-                    return true;
-                }
                 if (args.length >= 2) {
                     final String dbgWhat = args[1].toLowerCase(Locale.ROOT);
+                    if ("storage".equals(dbgWhat)) {
+                        this.sendStorageDebug(sender);
+                        return true;
+                    }
+                    if ("zones".equals(dbgWhat)) {
+                        this.sendZoneDebug(sender);
+                        return true;
+                    }
+                    if ("messages".equals(dbgWhat)) {
+                        this.sendMessageDebug(sender);
+                        return true;
+                    }
+                    if ("sessions".equals(dbgWhat)) {
+                        this.sendSessionDebug(sender);
+                        return true;
+                    }
                     if ("firstinstall".equals(dbgWhat)) {
+                        if (!(sender instanceof Player)) {
+                            MessageUtil.send(sender, "command_player_only");
+                            return true;
+                        }
                         this.plugin.getConfig().set("first_install_completed", false);
                         this.plugin.saveConfig();
                         this.plugin.sendFirstInstallWelcome((Player) sender);
@@ -256,6 +307,25 @@ case "dismiss":
                 }
                 return true;
 
+            case "data":
+                if (!sender.hasPermission("spawnelytra.admin")) {
+                    MessageUtil.send(sender, "no_permission");
+                    return true;
+                }
+                if (args.length >= 2) {
+                    final String dataWhat = args[1].toLowerCase(Locale.ROOT);
+                    if ("verify".equals(dataWhat) || "repair".equals(dataWhat)) {
+                        this.verifyStorage(sender, "repair".equals(dataWhat));
+                        return true;
+                    }
+                    if ("migrate".equals(dataWhat)) {
+                        this.migrateStorage(sender, args.length >= 3 ? args[2].toLowerCase(Locale.ROOT) : "");
+                        return true;
+                    }
+                }
+                this.sendDebugValue(sender, "Usage", "/" + label + " data <verify|repair|migrate [status|cancel]>");
+                return true;
+
             default:
                 this.sendHelpMessage(sender);
                 return true;
@@ -266,6 +336,7 @@ case "dismiss":
         MessageUtil.send(sender, "help_header");
         MessageUtil.send(sender, "help_reload");
         MessageUtil.send(sender, "help_info");
+        MessageUtil.send(sender, "help_top");
 
         if (sender.hasPermission("spawnelytra.admin")) {
             MessageUtil.send(sender, "help_visualize");
@@ -317,15 +388,173 @@ case "dismiss":
         MessageUtil.send(sender, "info_language", Placeholder.unparsed("value", this.prettyLanguage(language)));
     }
 
+    private void sendTop(final CommandSender sender, final String type, final PlayerDataStore.Window requestedWindow) {
+        final PlayerDataStore.Window window = requestedWindow != null ? requestedWindow : PlayerDataStore.Window.LIFETIME;
+        final PlayerDataStore.Statistic statistic = switch (type) {
+            case "boost" -> PlayerDataStore.Statistic.BOOST_COUNT;
+            case "total" -> PlayerDataStore.Statistic.TOTAL;
+            default -> PlayerDataStore.Statistic.FLY_COUNT;
+        };
+        final String statKey = switch (statistic) {
+            case FLY_COUNT -> "top_stat_fly";
+            case BOOST_COUNT -> "top_stat_boost";
+            case TOTAL -> "top_stat_total";
+        };
+        if (PlayerDataStore.Window.LIFETIME == window) {
+            MessageUtil.send(sender, "top_header", Placeholder.component("stat", MessageUtil.component(sender, statKey)));
+        } else {
+            MessageUtil.send(sender, "top_header_window", Placeholder.component("stat", MessageUtil.component(sender, statKey)),
+                    Placeholder.component("window", MessageUtil.component(sender, "top_window_" + window.getId())));
+        }
+
+        final List<Leaderboard.Entry> entries = this.plugin.getPlayerDataManager().getLeaderboard().top(statistic, window, 10);
+        if (entries.isEmpty()) {
+            MessageUtil.send(sender, "top_empty");
+            return;
+        }
+        int rank = 1;
+        for (final Leaderboard.Entry entry : entries) {
+            MessageUtil.send(sender, "top_entry",
+                    Placeholder.unparsed("rank", String.valueOf(rank++)),
+                    Placeholder.unparsed("name", entry.getName()),
+                    Placeholder.unparsed("value", String.valueOf(entry.getValue())));
+        }
+    }
+
+    private void sendMessageDebug(final CommandSender sender) {
+        final long hits = MessageUtil.getCacheHits();
+        final long misses = MessageUtil.getCacheMisses();
+        this.sendDebugValue(sender, "Loaded languages", String.join(", ", MessageUtil.getLoadedLanguages()));
+        this.sendDebugValue(sender, "Compiled messages", String.valueOf(MessageUtil.getCompiledCount()));
+        this.sendDebugValue(sender, "Compile time", String.format(Locale.ROOT, "%.2f ms", MessageUtil.getCompileMillis()));
+        this.sendDebugValue(sender, "Cache hits", hits + " / " + (hits + misses)
+                + String.format(Locale.ROOT, " (%.1f%%)", hits + misses == 0 ? 100.0D : hits * 100.0D / (hits + misses)));
+        this.sendDebugValue(sender, "Action bars", MessageUtil.getActionBarsSent() + " sent, "
+                + MessageUtil.getActionBarsDropped() + " dropped, " + MessageUtil.getActionBarsCoalesced() + " coalesced");
+        final ConfigWatcher watcher = this.plugin.getConfigWatcher();
+        this.sendDebugValue(sender, "Hot reload", watcher == null || !watcher.isRunning() ? "disabled"
+                : watcher.getAppliedCount() + " applied, " + watcher.getRejectedCount() + " rejected");
+    }
+
+    private void sendStorageDebug(final CommandSender sender) {
+        final PlayerDataManager dataManager = this.plugin.getPlayerDataManager();
+        final PlayerDataFlusher flusher = dataManager != null ? dataManager.getFlusher() : null;
+        if (dataManager != null) {
+            this.sendDebugValue(sender, "Backend", dataManager.getStore() != null ? dataManager.getStore().getName() : "none");
+            this.sendDebugValue(sender, "Loaded players", String.valueOf(dataManager.getLoadedCount()));
+        }
+        if (flusher == null) {
+            this.sendDebugValue(sender, "Write-behind", "disabled");
+            return;
+        }
+        this.sendDebugValue(sender, "Write-behind", "enabled");
+        this.sendDebugValue(sender, "Queue depth", String.valueOf(flusher.getQueueDepth()));
+        this.sendDebugValue(sender, "Flushes", flusher.getFlushCount() + " (" + flusher.getFlushedEntries() + " entries)");
+        this.sendDebugValue(sender, "Last flush", String.format(Locale.ROOT, "%.2f ms (%d entries)", flusher.getLastFlushMillis(), flusher.getLastFlushSize()));
+        this.sendDebugValue(sender, "Average flush", String.format(Locale.ROOT, "%.2f ms", flusher.getAverageFlushMillis()));
+    }
+
+    private void verifyStorage(final CommandSender sender, final boolean repair) {
+        final PlayerDataManager dataManager = this.plugin.getPlayerDataManager();
+        PlayerDataStore target = dataManager != null ? dataManager.getStore() : null;
+        if (target instanceof final PdcPlayerDataStore pdc) {
+            target = pdc.getIndex();
+        }
+        if (!(target instanceof final MmapPlayerDataStore store)) {
+            this.sendDebugValue(sender, "Verify", "only supported by the mmap storage backend");
+            return;
+        }
+        SchedulerUtil.runAsync(this.plugin, () -> {
+            try {
+                final MmapPlayerDataStore.VerifyReport report = store.verify(repair);
+                this.sendDebugValue(sender, "Records", report.getRecords() + " in " + report.getCapacity() + " slots");
+                this.sendDebugValue(sender, "Corrupt", String.valueOf(report.getCorrupt()));
+                this.sendDebugValue(sender, "Unreachable", String.valueOf(report.getUnreachable()));
+                if (report.isRepaired()) {
+                    this.sendDebugValue(sender, "Repair", "rebuilt, damaged records dropped");
+                } else if (!report.isHealthy()) {
+                    this.sendDebugValue(sender, "Repair", "run /se data repair to rebuild the file");
+                }
+            } catch (final IOException e) {
+                this.sendDebugValue(sender, "Verify", "failed: " + e.getMessage());
+            }
+        });
+    }
+
+    private void migrateStorage(final CommandSender sender, final String action) {
+        final PlayerDataManager dataManager = this.plugin.getPlayerDataManager();
+        if (dataManager == null) {
+            return;
+        }
+        final PlayerDataBulkMigration running = dataManager.getMigration();
+        final boolean active = running != null && !running.isFinished();
+        if ("status".equals(action)) {
+            this.sendDebugValue(sender, "Migration", running == null ? "not started"
+                    : (active ? "running, " : "done, ") + running.describe());
+            return;
+        }
+        if ("cancel".equals(action)) {
+            if (active) {
+                running.cancel();
+                this.sendDebugValue(sender, "Migration", "stopping after the current batch");
+            } else {
+                this.sendDebugValue(sender, "Migration", "not running");
+            }
+            return;
+        }
+        if (active) {
+            this.sendDebugValue(sender, "Migration", "already running, " + running.describe());
+            return;
+        }
+        if (dataManager.getStore() instanceof YamlPlayerDataStore) {
+            this.sendDebugValue(sender, "Migration", "set storage.type to sqlite, journal, mmap or pdc first");
+            return;
+        }
+        dataManager.startMigration(line -> this.sendDebugValue(sender, "Migration", line));
+    }
+
+    private void sendSessionDebug(final CommandSender sender) {
+        final FlightSessionManager sessions = this.plugin.getFlightSessions();
+        this.sendDebugValue(sender, "Live sessions", String.valueOf(sessions.getSessionCount()));
+        this.sendDebugValue(sender, "Flying", String.valueOf(sessions.getFlyingCount()));
+        this.sendDebugValue(sender, "Permission cache", sessions.getPermissionCacheMillis() == 0
+                ? "disabled" : (sessions.getPermissionCacheMillis() / 1000L) + "s");
+    }
+
+    private void sendZoneDebug(final CommandSender sender) {
+        final ZoneTransitions transitions = this.plugin.getZoneTransitions();
+        this.sendDebugValue(sender, "Transitions", transitions.getTransitionsPerMinute() + "/min (enter "
+                + transitions.getEnterCount() + ", leave " + transitions.getLeaveCount() + ")");
+        for (final Map.Entry<String, SpawnElytra> entry : this.plugin.getAllWorldInstances().entrySet()) {
+            final ZoneIndex zones = entry.getValue().getZones();
+            final long outside = zones.getOutsideHits();
+            final long inside = zones.getInsideHits();
+            final long edge = zones.getEdgeHits();
+            final long total = outside + inside + edge;
+            this.sendDebugValue(sender, entry.getKey(), zones.getZones().size() + " zone(s), "
+                    + zones.getIndexedCellCount() + " chunk(s) indexed (" + zones.getInsideCellCount() + " inside), "
+                    + zones.getLargeZoneCount() + " unindexed");
+            this.sendDebugValue(sender, "Lookups", total == 0 ? "0" : String.format(Locale.ROOT,
+                    "%d (outside %.1f%%, inside %.1f%%, edge %.1f%%)", total,
+                    outside * 100.0D / total, inside * 100.0D / total, edge * 100.0D / total));
+        }
+    }
+
+    private void sendDebugValue(final CommandSender sender, final String label, final String value) {
+        MessageUtil.sendRaw(sender, MiniMessage.miniMessage().deserialize("<#fdba5e><label>: <#91f251><value>",
+                Placeholder.unparsed("label", label), Placeholder.unparsed("value", value)));
+    }
+
     @Override
     public List<String> onTabComplete(final CommandSender sender, final Command command, final String alias, final String[] args) {
         if (args.length == 1) {
-            final List<String> completions = new ArrayList<>(Arrays.asList("reload", "info"));
+            final List<String> completions = new ArrayList<>(Arrays.asList("reload", "info", "top"));
             if (sender.hasPermission("spawnelytra.admin")) {
                 completions.add("visualize");
                 completions.add("settings");
                 completions.add("options");
                 completions.add("setup");
+                completions.add("data");
             }
             final String prefix = args[0].toLowerCase(Locale.ROOT);
             return completions.stream()
@@ -335,7 +564,24 @@ case "dismiss":
             final String sub = args[0].toLowerCase(Locale.ROOT);
             final String prefix = args[1].toLowerCase(Locale.ROOT);
             if ("setup".equals(sub)) {
-                final List<String> second = List.of("exit");
+                final List<String> second = List.of("exit", "zone");
+                return second.stream().filter(s -> s.startsWith(prefix)).collect(Collectors.toList());
+            }
+            if ("visualize".equals(sub) && sender instanceof final Player p && sender.hasPermission("spawnelytra.admin")) {
+                final SpawnElytra instance = this.plugin.getSpawnElytraInstance(p.getWorld().getName());
+                if (instance != null) {
+                    return instance.getZones().getZones().stream()
+                            .map(SpawnZone::getName)
+                            .filter(n -> n.toLowerCase(Locale.ROOT).startsWith(prefix))
+                            .collect(Collectors.toList());
+                }
+            }
+            if ("top".equals(sub)) {
+                final List<String> second = Arrays.asList("fly", "boost", "total");
+                return second.stream().filter(s -> s.startsWith(prefix)).collect(Collectors.toList());
+            }
+            if ("data".equals(sub) && sender.hasPermission("spawnelytra.admin")) {
+                final List<String> second = Arrays.asList("verify", "repair", "migrate");
                 return second.stream().filter(s -> s.startsWith(prefix)).collect(Collectors.toList());
             }
             if ("set".equals(sub) && sender.hasPermission("spawnelytra.admin")) {
@@ -345,6 +591,14 @@ case "dismiss":
         } else if (args.length == 3) {
             final String sub = args[0].toLowerCase(Locale.ROOT);
             final String prefix = args[2].toLowerCase(Locale.ROOT);
+            if ("top".equals(sub)) {
+                final List<String> windows = Arrays.asList("daily", "weekly", "monthly");
+                return windows.stream().filter(w -> w.startsWith(prefix)).collect(Collectors.toList());
+            }
+            if ("data".equals(sub) && "migrate".equals(args[1].toLowerCase(Locale.ROOT)) && sender.hasPermission("spawnelytra.admin")) {
+                final List<String> actions = Arrays.asList("status", "cancel");
+                return actions.stream().filter(t -> t.startsWith(prefix)).collect(Collectors.toList());
+            }
             if ("setup".equals(sub)) {
                 if ("mode".equals(args[1].toLowerCase(Locale.ROOT))) {
                     final List<String> modes = Arrays.asList("double_jump", "auto", "sneak_jump", "f_key");
@@ -372,85 +626,9 @@ case "dismiss":
         };
         
         if ("small_caps".equals(style) && ("en".equals(language) || "de".equals(language))) {
-            text = this.applySmallCaps(text);
+            text = SmallCapsUtil.applyPreservingTags(text);
         }
         
         return MiniMessage.miniMessage().deserialize(text);
     }
-    
-    private String applySmallCaps(final String input) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-        final StringBuilder out = new StringBuilder(input.length());
-        boolean inTag = false;
-        int depth = 0;
-        for (int i = 0; i < input.length(); i++) {
-            final char ch = input.charAt(i);
-            if ('<' == ch) {
-                inTag = true;
-                depth++;
-                out.append('<');
-                continue;
-            }
-            if ('>' == ch && inTag) {
-                out.append('>');
-                depth--;
-                if (depth <= 0) {
-                    inTag = false;
-                    depth = 0;
-                }
-                continue;
-            }
-            if (inTag) {
-                out.append(ch);
-            } else {
-                final char lower = Character.toLowerCase(ch);
-                final String mapped = this.getSmallCapsMapping(lower);
-                if (mapped != null) {
-                    out.append(mapped);
-                } else {
-                    out.append(ch);
-                }
-            }
-        }
-        return out.toString();
-    }
-    
-    private String getSmallCapsMapping(final char ch) {
-        return switch (ch) {
-            case 'a' -> "ᴀ";
-            case 'b' -> "ʙ";
-            case 'c' -> "ᴄ";
-            case 'd' -> "ᴅ";
-            case 'e' -> "ᴇ";
-            case 'f' -> "ꜰ";
-            case 'g' -> "ɢ";
-            case 'h' -> "ʜ";
-            case 'i' -> "ɪ";
-            case 'j' -> "ᴊ";
-            case 'k' -> "ᴋ";
-            case 'l' -> "ʟ";
-            case 'm' -> "ᴍ";
-            case 'n' -> "ɴ";
-            case 'o' -> "ᴏ";
-            case 'p' -> "ᴘ";
-            case 'q' -> "ƫ";
-            case 'r' -> "ʀ";
-            case 's' -> "ꜱ";
-            case 't' -> "ᴛ";
-            case 'u' -> "ᴜ";
-            case 'v' -> "ᴠ";
-            case 'w' -> "ᴡ";
-            case 'x' -> "x";
-            case 'y' -> "ʏ";
-            case 'z' -> "ᴢ";
-            case 'ä' -> "ä";
-            case 'ö' -> "ö";
-            case 'ü' -> "ü";
-            case 'ß' -> "ꜱꜱ";
-            default -> null;
-        };
-    }
 }
-
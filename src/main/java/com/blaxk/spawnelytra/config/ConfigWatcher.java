@@ -0,0 +1,287 @@
+package com.blaxk.spawnelytra.config;
+
+import com.blaxk.spawnelytra.Main;
+import com.blaxk.spawnelytra.util.MessageUtil;
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+public class ConfigWatcher {
+    private static final String CONFIG_FILE = "config.yml";
+    private static final Set<String> STORAGE_TYPES = Set.of("yaml", "sqlite", "journal", "mmap", "pdc");
+    private static final List<String> NUMBERS = List.of("messages.action_bar_throttle_ticks", "hot_reload.debounce_millis",
+            "permissions.cache_seconds", "area_border.hysteresis", "storage.flush_interval_seconds",
+            "storage.shutdown_flush_timeout_seconds", "storage.unload_grace_seconds", "leaderboard.size");
+    private static final List<String> BOOLEANS = List.of("hot_reload.enabled", "storage.write_behind",
+            "messages.use_client_locale", "game_modes.disable_in_creative", "game_modes.disable_in_adventure");
+    private static final List<String> WORLD_NUMBERS = List.of("radius", "boost.strength", "f_key.launch_strength",
+            "spawn_area.x", "spawn_area.y", "spawn_area.z", "spawn_area.x2", "spawn_area.y2", "spawn_area.z2");
+
+    private final Main plugin;
+    private final Path dataFolder;
+    private final Path langFolder;
+    private final long debounceMillis;
+    private final long debounceNanos;
+    private final Map<Path, String> lastContents = new HashMap<>();
+
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running;
+
+    public ConfigWatcher(final Main plugin, final long debounceMillis) {
+        this.plugin = plugin;
+        this.dataFolder = plugin.getDataFolder().toPath();
+        this.langFolder = this.dataFolder.resolve("lang");
+        this.debounceMillis = debounceMillis;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0L, debounceMillis));
+    }
+
+    public void start() {
+        if (this.thread != null) {
+            return;
+        }
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.register(this.watchService, this.dataFolder);
+            if (Files.isDirectory(this.langFolder)) {
+                this.register(this.watchService, this.langFolder);
+            } else {
+                this.plugin.getLogger().info("Language folder " + this.langFolder.getFileName()
+                        + " does not exist yet, it will be watched once it is created");
+            }
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to watch configuration files, hot reload is disabled: " + e.getMessage());
+            this.closeWatchService();
+            return;
+        }
+
+        this.remember(this.dataFolder.resolve(CONFIG_FILE));
+        try (final var files = Files.list(this.langFolder)) {
+            files.filter(this::isWatched).forEach(this::remember);
+        } catch (final IOException ignored) {
+        }
+
+        this.running = true;
+        this.thread = new Thread(this::run, "SpawnElytra-ConfigWatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public void stop() {
+        this.running = false;
+        this.closeWatchService();
+        if (this.thread != null) {
+            this.thread.interrupt();
+            this.thread = null;
+        }
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    public long getDebounceMillis() {
+        return this.debounceMillis;
+    }
+
+    public long getAppliedCount() {
+        return this.applied.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.get();
+    }
+
+    private void register(final WatchService service, final Path folder) throws IOException {
+        folder.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    private void watchLanguageFolder(final WatchService service, final Map<Path, Long> pending) {
+        try {
+            this.register(service, this.langFolder);
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to watch " + this.langFolder.getFileName()
+                    + ", language files will not be reloaded automatically: " + e.getMessage());
+            return;
+        }
+        try (final var files = Files.list(this.langFolder)) {
+            files.filter(this::isWatched).forEach(file -> pending.put(file, System.nanoTime() + this.debounceNanos));
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private void closeWatchService() {
+        if (this.watchService != null) {
+            try {
+                this.watchService.close();
+            } catch (final IOException ignored) {
+            }
+            this.watchService = null;
+        }
+    }
+
+    private boolean isWatched(final Path file) {
+        final String name = file.getFileName().toString();
+        if (file.getParent().equals(this.dataFolder)) {
+            return CONFIG_FILE.equals(name);
+        }
+        return file.getParent().equals(this.langFolder) && name.endsWith(".yml");
+    }
+
+    private void remember(final Path file) {
+        try {
+            this.lastContents.put(file, Files.readString(file, StandardCharsets.UTF_8));
+        } catch (final IOException ignored) {
+        }
+    }
+
+    private void run() {
+        final WatchService service = this.watchService;
+        final Map<Path, Long> pending = new HashMap<>();
+        try {
+            while (this.running) {
+                final WatchKey key;
+                if (pending.isEmpty()) {
+                    key = service.take();
+                } else {
+                    final long wait = pending.values().stream().mapToLong(Long::longValue).min().orElse(0L) - System.nanoTime();
+                    key = service.poll(Math.max(0L, wait), TimeUnit.NANOSECONDS);
+                }
+
+                if (key != null) {
+                    final Path folder = (Path) key.watchable();
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            pending.put(this.dataFolder.resolve(CONFIG_FILE), System.nanoTime() + this.debounceNanos);
+                            continue;
+                        }
+                        final Path file = folder.resolve((Path) event.context());
+                        if (file.equals(this.langFolder) && event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                                && Files.isDirectory(file)) {
+                            this.watchLanguageFolder(service, pending);
+                        } else if (this.isWatched(file)) {
+                            pending.put(file, System.nanoTime() + this.debounceNanos);
+                        }
+                    }
+                    key.reset();
+                }
+
+                final long now = System.nanoTime();
+                final Iterator<Map.Entry<Path, Long>> iterator = pending.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    final Map.Entry<Path, Long> entry = iterator.next();
+                    if (entry.getValue() - now <= 0L) {
+                        iterator.remove();
+                        this.handle(entry.getKey());
+                    }
+                }
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private static void validate(final YamlConfiguration config) throws InvalidConfigurationException {
+        if (config.getKeys(false).isEmpty()) {
+            throw new InvalidConfigurationException("file is empty");
+        }
+        ConfigWatcher.require(config, "language", String.class);
+        ConfigWatcher.require(config, "storage.type", String.class);
+        final String storage = config.getString("storage.type");
+        if (storage != null && !STORAGE_TYPES.contains(storage.toLowerCase(Locale.ROOT))) {
+            throw new InvalidConfigurationException("storage.type must be one of " + STORAGE_TYPES + ", not '" + storage + "'");
+        }
+        for (final String path : NUMBERS) {
+            ConfigWatcher.require(config, path, Number.class);
+        }
+        for (final String path : BOOLEANS) {
+            ConfigWatcher.require(config, path, Boolean.class);
+        }
+
+        if (!config.isConfigurationSection("worlds")) {
+            throw new InvalidConfigurationException("'worlds' section is missing");
+        }
+        for (final String world : config.getConfigurationSection("worlds").getKeys(false)) {
+            final String section = "worlds." + world;
+            if (!config.isConfigurationSection(section)) {
+                throw new InvalidConfigurationException("'" + section + "' is not a section");
+            }
+            final String prefix = section + ".";
+            for (final String path : WORLD_NUMBERS) {
+                ConfigWatcher.require(config, prefix + path, Number.class);
+            }
+            ConfigWatcher.require(config, prefix + "enabled", Boolean.class);
+            ConfigWatcher.require(config, prefix + "activation_mode", String.class);
+            ConfigWatcher.require(config, prefix + "spawn_area.area_type", String.class);
+        }
+    }
+
+    private static void require(final YamlConfiguration config, final String path, final Class<?> type)
+            throws InvalidConfigurationException {
+        final Object value = config.get(path);
+        if (value != null && !type.isInstance(value)) {
+            throw new InvalidConfigurationException(path + " must be a " + type.getSimpleName().toLowerCase(Locale.ROOT)
+                    + ", not '" + value + "'");
+        }
+    }
+
+    private void handle(final Path file) {
+        final String contents;
+        try {
+            contents = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            return;
+        }
+        if (contents.equals(this.lastContents.get(file))) {
+            return;
+        }
+
+        final String name = file.getFileName().toString();
+        try {
+            final BooleanSupplier apply;
+            if (file.getParent().equals(this.dataFolder)) {
+                final YamlConfiguration config = new YamlConfiguration();
+                config.loadFromString(contents);
+                ConfigWatcher.validate(config);
+                final Runnable applyMessages = MessageUtil.prepareMessages(this.plugin, config);
+                apply = () -> this.plugin.reload(config, applyMessages);
+            } else {
+                final String language = name.substring(0, name.length() - ".yml".length()).toLowerCase(Locale.ROOT);
+                apply = MessageUtil.prepareLanguage(this.plugin, language, contents);
+            }
+
+            this.lastContents.put(file, contents);
+            SchedulerUtil.runNow(this.plugin, () -> {
+                if (this.running && apply.getAsBoolean()) {
+                    this.applied.incrementAndGet();
+                    this.plugin.getLogger().info("Reloaded " + name + ".");
+                }
+            });
+        } catch (final InvalidConfigurationException | RuntimeException e) {
+            this.rejected.incrementAndGet();
+            this.plugin.getLogger().warning("Ignoring invalid " + name + ", keeping the previous version: " + e.getMessage());
+        }
+    }
+}
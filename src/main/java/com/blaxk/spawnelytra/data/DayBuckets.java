@@ -0,0 +1,215 @@
+package com.blaxk.spawnelytra.data;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class DayBuckets {
+    public static final int DAYS = 31;
+    public static final int BYTES = 4 + DAYS * 4;
+    private static final int MAX_ENCODED = 0xFFFF;
+
+    private static final class Today {
+        final long epochDay;
+        final long untilMillis;
+
+        Today(final long epochDay, final long untilMillis) {
+            this.epochDay = epochDay;
+            this.untilMillis = untilMillis;
+        }
+    }
+
+    private static volatile Today cachedToday = new Today(0L, Long.MIN_VALUE);
+
+    private final AtomicLongArray slots = new AtomicLongArray(2 * DAYS);
+    private final AtomicLong newestDay;
+
+    public DayBuckets() {
+        this.newestDay = new AtomicLong(DayBuckets.today());
+    }
+
+    public static long today() {
+        final long now = System.currentTimeMillis();
+        Today today = DayBuckets.cachedToday;
+        if (now >= today.untilMillis) {
+            final ZoneId zone = ZoneId.systemDefault();
+            final LocalDate date = LocalDate.now(zone);
+            today = new Today(date.toEpochDay(), date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+            DayBuckets.cachedToday = today;
+        }
+        return today.epochDay;
+    }
+
+    private static int slot(final PlayerDataStore.Statistic statistic, final long day) {
+        final int slot = (int) Math.floorMod(day, (long) DAYS);
+        return PlayerDataStore.Statistic.BOOST_COUNT == statistic ? DAYS + slot : slot;
+    }
+
+    private static long pack(final long day, final int count) {
+        return (day << 32) | (count & 0xFFFFFFFFL);
+    }
+
+    private static long dayOf(final long packed) {
+        return packed >>> 32;
+    }
+
+    private long newest(final long today) {
+        return Math.max(this.newestDay.get(), today);
+    }
+
+    private static boolean inRange(final long day, final long newest) {
+        return day <= newest && day > newest - DAYS;
+    }
+
+    private int count(final PlayerDataStore.Statistic statistic, final long day) {
+        final long packed = this.slots.get(DayBuckets.slot(statistic, day));
+        return DayBuckets.dayOf(packed) == day ? (int) packed : 0;
+    }
+
+    private int value(final PlayerDataStore.Statistic statistic, final long day) {
+        return switch (statistic) {
+            case FLY_COUNT, BOOST_COUNT -> this.count(statistic, day);
+            case TOTAL -> this.count(PlayerDataStore.Statistic.FLY_COUNT, day) + this.count(PlayerDataStore.Statistic.BOOST_COUNT, day);
+        };
+    }
+
+    public void add(final PlayerDataStore.Statistic statistic, final long day, final int delta) {
+        if (PlayerDataStore.Statistic.TOTAL == statistic || day < 0L) {
+            return;
+        }
+        final long newest = this.newestDay.accumulateAndGet(day, Math::max);
+        if (!DayBuckets.inRange(day, newest)) {
+            return;
+        }
+        final int slot = DayBuckets.slot(statistic, day);
+        while (true) {
+            final long packed = this.slots.get(slot);
+            final long slotDay = DayBuckets.dayOf(packed);
+            if (slotDay > day) {
+                return;
+            }
+            final int current = slotDay == day ? (int) packed : 0;
+            if (this.slots.compareAndSet(slot, packed, DayBuckets.pack(day, current + delta))) {
+                return;
+            }
+        }
+    }
+
+    public int get(final PlayerDataStore.Statistic statistic, final long day) {
+        return DayBuckets.inRange(day, this.newest(DayBuckets.today())) ? this.value(statistic, day) : 0;
+    }
+
+    public int sum(final PlayerDataStore.Statistic statistic, final int days, final long today) {
+        final long newest = this.newest(today);
+        int total = 0;
+        for (long day = today - Math.min(days, DAYS) + 1; day <= today; day++) {
+            if (DayBuckets.inRange(day, newest)) {
+                total += this.value(statistic, day);
+            }
+        }
+        return total;
+    }
+
+    public boolean raiseTo(final DayBuckets other) {
+        final long today = DayBuckets.today();
+        final long newest = other.newest(today);
+        this.newestDay.accumulateAndGet(newest, Math::max);
+        boolean changed = false;
+        for (int age = 0; age < DAYS; age++) {
+            final long day = newest - age;
+            if (this.raise(PlayerDataStore.Statistic.FLY_COUNT, day, other.count(PlayerDataStore.Statistic.FLY_COUNT, day))) {
+                changed = true;
+            }
+            if (this.raise(PlayerDataStore.Statistic.BOOST_COUNT, day, other.count(PlayerDataStore.Statistic.BOOST_COUNT, day))) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private boolean raise(final PlayerDataStore.Statistic statistic, final long day, final int count) {
+        if (count <= 0 || !DayBuckets.inRange(day, this.newestDay.get())) {
+            return false;
+        }
+        final int slot = DayBuckets.slot(statistic, day);
+        while (true) {
+            final long packed = this.slots.get(slot);
+            final long slotDay = DayBuckets.dayOf(packed);
+            if (slotDay > day || slotDay == day && (int) packed >= count) {
+                return false;
+            }
+            if (this.slots.compareAndSet(slot, packed, DayBuckets.pack(day, count))) {
+                return true;
+            }
+        }
+    }
+
+    public int[] counts(final PlayerDataStore.Statistic statistic, final long today) {
+        final long newest = this.newest(today);
+        final int[] counts = new int[DAYS];
+        for (int age = 0; age < DAYS; age++) {
+            final long day = today - age;
+            if (DayBuckets.inRange(day, newest)) {
+                counts[age] = this.value(statistic, day);
+            }
+        }
+        return counts;
+    }
+
+    public long getNewestDay() {
+        return this.newestDay.get();
+    }
+
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        this.write(buffer);
+        return buffer.array();
+    }
+
+    public void write(final ByteBuffer buffer) {
+        final long newest = this.newest(DayBuckets.today());
+        buffer.putInt((int) newest);
+        for (int age = 0; age < DAYS; age++) {
+            final long day = newest - age;
+            buffer.putShort((short) Math.min(MAX_ENCODED, Math.max(0, this.count(PlayerDataStore.Statistic.FLY_COUNT, day))));
+            buffer.putShort((short) Math.min(MAX_ENCODED, Math.max(0, this.count(PlayerDataStore.Statistic.BOOST_COUNT, day))));
+        }
+    }
+
+    public static DayBuckets fromBytes(final byte[] bytes) {
+        if (bytes == null || bytes.length < BYTES) {
+            return new DayBuckets();
+        }
+        return DayBuckets.read(ByteBuffer.wrap(bytes));
+    }
+
+    public static DayBuckets read(final ByteBuffer buffer) {
+        final DayBuckets buckets = new DayBuckets();
+        final long newest = buffer.getInt();
+        buckets.newestDay.accumulateAndGet(newest, Math::max);
+        for (int age = 0; age < DAYS; age++) {
+            final long day = newest - age;
+            buckets.load(PlayerDataStore.Statistic.FLY_COUNT, day, buffer.getShort() & MAX_ENCODED);
+            buckets.load(PlayerDataStore.Statistic.BOOST_COUNT, day, buffer.getShort() & MAX_ENCODED);
+        }
+        return buckets;
+    }
+
+    private void load(final PlayerDataStore.Statistic statistic, final long day, final int count) {
+        if (day >= 0L && count != 0) {
+            this.slots.set(DayBuckets.slot(statistic, day), DayBuckets.pack(day, count));
+        }
+    }
+
+    public boolean isEmpty() {
+        final long newest = this.newest(DayBuckets.today());
+        for (int age = 0; age < DAYS; age++) {
+            if (this.value(PlayerDataStore.Statistic.TOTAL, newest - age) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,394 @@
+package com.blaxk.spawnelytra.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+public class JournalPlayerDataStore implements PlayerDataStore {
+    private static final int SNAPSHOT_MAGIC = 0x53454A53;
+    private static final int SNAPSHOT_MAGIC_WINDOWS = 0x53454A57;
+    private static final int SNAPSHOT_MAGIC_GENERATION = 0x53454A47;
+    private static final int SNAPSHOT_ENTRY_BYTES = 24;
+    private static final int RECORD_BYTES = 25;
+    private static final byte COUNTER_FLY = 0;
+    private static final byte COUNTER_BOOST = 1;
+    private static final byte COUNTER_DELETE = 2;
+    private static final byte COUNTER_FLY_DAY = 3;
+    private static final byte COUNTER_BOOST_DAY = 4;
+    private static final byte COUNTER_GENERATION = 5;
+
+    private final Logger logger;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final long compactAfterRecords;
+    private final Map<UUID, int[]> counters = new HashMap<>();
+    private final Map<UUID, DayBuckets> windows = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel journal;
+    private long journalRecords;
+    private int generation;
+
+    public JournalPlayerDataStore(final File folder, final long compactAfterRecords, final Logger logger) throws IOException {
+        this.logger = logger;
+        this.compactAfterRecords = Math.max(1L, compactAfterRecords);
+        Files.createDirectories(folder.toPath());
+        this.snapshotFile = folder.toPath().resolve("snapshot.dat");
+        this.journalFile = folder.toPath().resolve("journal.dat");
+
+        this.readSnapshot();
+        this.replayJournal();
+        this.journal = FileChannel.open(this.journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.journal.position(this.journal.size());
+        if (this.journal.size() == 0L) {
+            this.writeGeneration();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "journal";
+    }
+
+    private void readSnapshot() throws IOException {
+        if (!Files.exists(this.snapshotFile)) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(this.snapshotFile));
+        final int magic = buffer.remaining() < 8 ? 0 : buffer.getInt();
+        if (magic != SNAPSHOT_MAGIC && magic != SNAPSHOT_MAGIC_WINDOWS && magic != SNAPSHOT_MAGIC_GENERATION) {
+            throw new IOException("Journal snapshot " + this.snapshotFile.getFileName() + " is corrupt");
+        }
+        final boolean withWindows = magic != SNAPSHOT_MAGIC;
+        if (magic == SNAPSHOT_MAGIC_GENERATION) {
+            if (buffer.remaining() < 8) {
+                throw new IOException("Journal snapshot " + this.snapshotFile.getFileName() + " is truncated");
+            }
+            this.generation = buffer.getInt();
+        }
+        final int count = buffer.getInt();
+        if (count < 0 || buffer.remaining() < (long) count * (withWindows ? SNAPSHOT_ENTRY_BYTES + 1 : SNAPSHOT_ENTRY_BYTES)) {
+            throw new IOException("Journal snapshot " + this.snapshotFile.getFileName() + " is truncated");
+        }
+        for (int i = 0; i < count; i++) {
+            final UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+            this.counters.put(uuid, new int[]{buffer.getInt(), buffer.getInt()});
+            if (withWindows && buffer.get() != 0) {
+                if (buffer.remaining() < DayBuckets.BYTES) {
+                    throw new IOException("Journal snapshot " + this.snapshotFile.getFileName() + " is truncated");
+                }
+                this.windows.put(uuid, DayBuckets.read(buffer));
+            }
+        }
+    }
+
+    private void replayJournal() throws IOException {
+        if (!Files.exists(this.journalFile)) {
+            return;
+        }
+        try (final FileChannel channel = FileChannel.open(this.journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            long valid = 0L;
+            int journalGeneration = 0;
+            while (true) {
+                record.clear();
+                while (record.hasRemaining() && channel.read(record) > 0) {
+                }
+                if (record.hasRemaining()) {
+                    break;
+                }
+                record.flip();
+                if (valid == 0L && this.isValid(record) && COUNTER_GENERATION == record.get(16)) {
+                    journalGeneration = record.getInt(17);
+                    valid += RECORD_BYTES;
+                    continue;
+                }
+                if (journalGeneration != this.generation || !this.apply(record)) {
+                    break;
+                }
+                valid += RECORD_BYTES;
+                this.journalRecords++;
+            }
+            if (journalGeneration != this.generation) {
+                this.logger.info("Discarding player data journal generation " + journalGeneration
+                        + ", it is already part of snapshot generation " + this.generation);
+                channel.truncate(0L);
+                channel.force(true);
+            } else if (valid < channel.size()) {
+                this.logger.warning("Discarding " + (channel.size() - valid) + " byte(s) of incomplete player data journal tail");
+                channel.truncate(valid);
+                channel.force(true);
+            }
+        }
+    }
+
+    private boolean isValid(final ByteBuffer record) {
+        this.crc.reset();
+        this.crc.update(record.array(), 0, RECORD_BYTES - 4);
+        return (int) this.crc.getValue() == record.getInt(RECORD_BYTES - 4);
+    }
+
+    private boolean apply(final ByteBuffer record) {
+        if (!this.isValid(record)) {
+            return false;
+        }
+        final long msb = record.getLong();
+        final long lsb = record.getLong();
+        final byte counter = record.get();
+        final int delta = record.getInt();
+
+        final UUID uuid = new UUID(msb, lsb);
+        if (COUNTER_DELETE == counter) {
+            this.counters.remove(uuid);
+            this.windows.remove(uuid);
+            return true;
+        }
+        if (COUNTER_FLY_DAY == counter || COUNTER_BOOST_DAY == counter) {
+            this.windows.computeIfAbsent(uuid, k -> new DayBuckets()).add(COUNTER_FLY_DAY == counter
+                    ? Statistic.FLY_COUNT : Statistic.BOOST_COUNT, delta >>> 16, (short) delta);
+            return true;
+        }
+        if (COUNTER_FLY != counter && COUNTER_BOOST != counter) {
+            return false;
+        }
+        this.counters.computeIfAbsent(uuid, k -> new int[2])[counter] += delta;
+        return true;
+    }
+
+    private void putRecord(final ByteBuffer buffer, final UUID uuid, final byte counter, final int delta) {
+        final int start = buffer.position();
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+        buffer.put(counter);
+        buffer.putInt(delta);
+        this.crc.reset();
+        this.crc.update(buffer.array(), start, RECORD_BYTES - 4);
+        buffer.putInt((int) this.crc.getValue());
+    }
+
+    private void writeGeneration() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        this.putRecord(buffer, new UUID(0L, 0L), COUNTER_GENERATION, this.generation);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            this.journal.write(buffer);
+        }
+        this.journal.force(true);
+    }
+
+    private ByteBuffer putDayRecords(ByteBuffer buffer, final UUID uuid, final byte counter, final long today,
+                                     final int[] current, final int[] stored) {
+        for (int age = 0; age < DayBuckets.DAYS; age++) {
+            int delta = current[age] - (stored != null ? stored[age] : 0);
+            final int day = (int) (today - age) & 0xFFFF;
+            while (delta != 0) {
+                final int step = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, delta));
+                buffer = JournalPlayerDataStore.reserve(buffer, 1);
+                this.putRecord(buffer, uuid, counter, (day << 16) | (step & 0xFFFF));
+                delta -= step;
+            }
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer reserve(final ByteBuffer buffer, final int records) {
+        final int needed = records * RECORD_BYTES;
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        final ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + needed));
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static DayBuckets copy(final DayBuckets buckets) {
+        return DayBuckets.fromBytes(buckets.toBytes());
+    }
+
+    @Override
+    public synchronized PlayerDataManager.PlayerData load(final UUID uuid) {
+        final int[] values = this.counters.get(uuid);
+        if (values == null) {
+            return new PlayerDataManager.PlayerData(uuid, 0, 0);
+        }
+        final DayBuckets stored = this.windows.get(uuid);
+        return new PlayerDataManager.PlayerData(uuid, values[COUNTER_FLY], values[COUNTER_BOOST],
+                stored != null ? JournalPlayerDataStore.copy(stored) : new DayBuckets());
+    }
+
+    @Override
+    public synchronized void saveBatch(final Collection<PlayerDataManager.PlayerData> batch) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(batch.size() * 4 * RECORD_BYTES);
+        final Map<UUID, int[]> pending = new HashMap<>();
+        final Map<UUID, DayBuckets> pendingWindows = new HashMap<>();
+        final long today = DayBuckets.today();
+        for (final PlayerDataManager.PlayerData data : batch) {
+            final int[] current = this.counters.getOrDefault(data.getUuid(), new int[2]);
+            final int fly = data.getFlyCount();
+            final int boost = data.getBoostCount();
+            buffer = JournalPlayerDataStore.reserve(buffer, 2);
+            if (fly != current[COUNTER_FLY]) {
+                this.putRecord(buffer, data.getUuid(), COUNTER_FLY, fly - current[COUNTER_FLY]);
+            }
+            if (boost != current[COUNTER_BOOST]) {
+                this.putRecord(buffer, data.getUuid(), COUNTER_BOOST, boost - current[COUNTER_BOOST]);
+            }
+            pending.put(data.getUuid(), new int[]{fly, boost});
+
+            final DayBuckets stored = this.windows.get(data.getUuid());
+            final DayBuckets buckets = JournalPlayerDataStore.copy(data.getWindows());
+            if (stored != null || !buckets.isEmpty()) {
+                buffer = this.putDayRecords(buffer, data.getUuid(), COUNTER_FLY_DAY, today,
+                        buckets.counts(Statistic.FLY_COUNT, today), stored != null ? stored.counts(Statistic.FLY_COUNT, today) : null);
+                buffer = this.putDayRecords(buffer, data.getUuid(), COUNTER_BOOST_DAY, today,
+                        buckets.counts(Statistic.BOOST_COUNT, today), stored != null ? stored.counts(Statistic.BOOST_COUNT, today) : null);
+                pendingWindows.put(data.getUuid(), buckets);
+            }
+        }
+        if (buffer.position() == 0) {
+            return;
+        }
+
+        buffer.flip();
+        final int records = buffer.remaining() / RECORD_BYTES;
+        final long start = this.journal.position();
+        try {
+            while (buffer.hasRemaining()) {
+                this.journal.write(buffer);
+            }
+            this.journal.force(false);
+        } catch (final IOException e) {
+            this.journal.truncate(start);
+            this.journal.position(start);
+            throw e;
+        }
+        this.counters.putAll(pending);
+        this.windows.putAll(pendingWindows);
+        this.journalRecords += records;
+
+        if (this.journalRecords >= this.compactAfterRecords) {
+            this.compact();
+        }
+    }
+
+    public synchronized void compact() throws IOException {
+        final int nextGeneration = this.generation + 1;
+        final ByteBuffer buffer = ByteBuffer.allocate(12 + this.counters.size() * (SNAPSHOT_ENTRY_BYTES + 1)
+                + this.windows.size() * DayBuckets.BYTES);
+        buffer.putInt(SNAPSHOT_MAGIC_GENERATION);
+        buffer.putInt(nextGeneration);
+        buffer.putInt(this.counters.size());
+        for (final Map.Entry<UUID, int[]> entry : this.counters.entrySet()) {
+            buffer.putLong(entry.getKey().getMostSignificantBits());
+            buffer.putLong(entry.getKey().getLeastSignificantBits());
+            buffer.putInt(entry.getValue()[COUNTER_FLY]);
+            buffer.putInt(entry.getValue()[COUNTER_BOOST]);
+            final DayBuckets buckets = this.windows.get(entry.getKey());
+            if (buckets == null || buckets.isEmpty()) {
+                buffer.put((byte) 0);
+            } else {
+                buffer.put((byte) 1);
+                buckets.write(buffer);
+            }
+        }
+        buffer.flip();
+
+        final Path temp = this.snapshotFile.resolveSibling(this.snapshotFile.getFileName() + ".tmp");
+        try (final FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.generation = nextGeneration;
+
+        this.journal.truncate(0L);
+        this.journal.position(0L);
+        this.writeGeneration();
+        this.journalRecords = 0L;
+    }
+
+    @Override
+    public synchronized List<PlayerDataManager.PlayerData> top(final Statistic statistic, final int limit) {
+        final Comparator<PlayerDataManager.PlayerData> order = PlayerDataManager.PlayerData.comparing(statistic);
+        final PriorityQueue<PlayerDataManager.PlayerData> best = new PriorityQueue<>(order);
+        for (final UUID uuid : this.counters.keySet()) {
+            best.add(this.load(uuid));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        final List<PlayerDataManager.PlayerData> result = new ArrayList<>(best);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    @Override
+    public synchronized Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) {
+        final TopRanking ranking = new TopRanking(limit, EnumSet.allOf(Window.class));
+        for (final UUID uuid : this.counters.keySet()) {
+            ranking.offer(this.load(uuid));
+        }
+        return ranking.result();
+    }
+
+    @Override
+    public synchronized void delete(final UUID uuid) throws IOException {
+        if (!this.counters.containsKey(uuid)) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        this.putRecord(buffer, uuid, COUNTER_DELETE, 0);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            this.journal.write(buffer);
+        }
+        this.journal.force(false);
+        this.counters.remove(uuid);
+        this.windows.remove(uuid);
+        this.journalRecords++;
+    }
+
+    @Override
+    public synchronized Collection<UUID> getStoredIds() {
+        return new ArrayList<>(this.counters.keySet());
+    }
+
+    public synchronized long getJournalRecords() {
+        return this.journalRecords;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            if (this.journalRecords > 0L) {
+                this.compact();
+            }
+        } catch (final IOException e) {
+            this.logger.warning("Failed to compact player data journal: " + e.getMessage());
+        }
+        try {
+            this.journal.close();
+        } catch (final IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.blaxk.spawnelytra.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Leaderboard {
+    private static final Entry[] EMPTY = new Entry[0];
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt(Entry::getValue).reversed()
+            .thenComparing(Entry::getUuid);
+
+    public static final class Entry {
+        private final UUID uuid;
+        private volatile String name;
+        private final int value;
+
+        Entry(final UUID uuid, final String name, final int value) {
+            this.uuid = uuid;
+            this.name = name;
+            this.value = value;
+        }
+
+        public UUID getUuid() {
+            return this.uuid;
+        }
+
+        public String getName() {
+            String resolved = this.name;
+            if (resolved == null) {
+                resolved = Leaderboard.nameOf(this.uuid);
+                this.name = resolved;
+            }
+            return resolved;
+        }
+
+        public int getValue() {
+            return this.value;
+        }
+    }
+
+    private final class Board {
+        private final PlayerDataStore.Statistic statistic;
+        private final PlayerDataStore.Window window;
+        private final TreeSet<Entry> ranking = new TreeSet<>(ORDER);
+        private final Map<UUID, Entry> byPlayer = new ConcurrentHashMap<>();
+        private final Map<UUID, PlayerDataManager.PlayerData> sources = new HashMap<>();
+        private volatile Entry[] snapshot = EMPTY;
+        private volatile boolean stale;
+        private volatile int floor = Integer.MIN_VALUE;
+        private volatile long day = DayBuckets.today();
+
+        Board(final PlayerDataStore.Statistic statistic, final PlayerDataStore.Window window) {
+            this.statistic = statistic;
+            this.window = window;
+        }
+
+        private boolean isWindowed() {
+            return PlayerDataStore.Window.LIFETIME != this.window;
+        }
+
+        Entry[] current() {
+            if (this.isWindowed() && this.day != DayBuckets.today()) {
+                this.rollOver();
+            }
+            if (this.stale) {
+                synchronized (this) {
+                    if (this.stale) {
+                        this.snapshot = this.ranking.toArray(EMPTY);
+                        this.stale = false;
+                    }
+                }
+            }
+            return this.snapshot;
+        }
+
+        void update(final PlayerDataManager.PlayerData data) {
+            if (this.isWindowed() && this.day != DayBuckets.today()) {
+                this.rollOver();
+            }
+            final UUID uuid = data.getUuid();
+            final int value = data.get(this.statistic, this.window);
+            if (!this.byPlayer.containsKey(uuid) && (value <= this.floor || this.isWindowed() && value <= 0)) {
+                return;
+            }
+            synchronized (this) {
+                this.apply(uuid, data, value);
+            }
+        }
+
+        private void apply(final UUID uuid, final PlayerDataManager.PlayerData data, final int value) {
+            final Entry current = this.byPlayer.get(uuid);
+            if (current != null) {
+                if (current.value == value) {
+                    if (this.isWindowed()) {
+                        this.sources.put(uuid, data);
+                    }
+                    return;
+                }
+                this.ranking.remove(current);
+            } else if (this.isWindowed() && value <= 0) {
+                return;
+            } else if (this.ranking.size() >= Leaderboard.this.capacity && value <= this.ranking.last().value) {
+                return;
+            }
+
+            if (this.isWindowed() && value <= 0) {
+                this.byPlayer.remove(uuid);
+                this.sources.remove(uuid);
+                this.publish();
+                return;
+            }
+            final Entry entry = new Entry(uuid, current != null ? current.name : null, value);
+            this.ranking.add(entry);
+            this.byPlayer.put(uuid, entry);
+            if (this.isWindowed()) {
+                this.sources.put(uuid, data);
+            }
+            while (this.ranking.size() > Leaderboard.this.capacity) {
+                final UUID evicted = this.ranking.pollLast().uuid;
+                this.byPlayer.remove(evicted);
+                this.sources.remove(evicted);
+            }
+            this.publish();
+        }
+
+        private void publish() {
+            this.floor = this.ranking.size() >= Leaderboard.this.capacity ? this.ranking.last().value : Integer.MIN_VALUE;
+            this.stale = true;
+        }
+
+        private synchronized void rollOver() {
+            final long today = DayBuckets.today();
+            if (this.day == today) {
+                return;
+            }
+            this.day = today;
+            final Map<UUID, Entry> previous = new HashMap<>(this.byPlayer);
+            this.ranking.clear();
+            this.byPlayer.clear();
+            this.sources.values().removeIf(data -> {
+                final int value = data.get(this.statistic, this.window);
+                if (value <= 0) {
+                    return true;
+                }
+                final Entry entry = new Entry(data.getUuid(), previous.get(data.getUuid()).name, value);
+                this.ranking.add(entry);
+                this.byPlayer.put(data.getUuid(), entry);
+                return false;
+            });
+            this.publish();
+
+            final Runnable listener = Leaderboard.this.rollOverListener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+
+        synchronized void remove(final UUID uuid) {
+            final Entry current = this.byPlayer.remove(uuid);
+            this.sources.remove(uuid);
+            if (current != null) {
+                this.ranking.remove(current);
+                this.publish();
+            }
+        }
+    }
+
+    private final int capacity;
+    private volatile Runnable rollOverListener;
+    private final Map<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, Board>> boards = new EnumMap<>(PlayerDataStore.Window.class);
+
+    public Leaderboard(final int capacity) {
+        this.capacity = Math.max(1, capacity);
+        for (final PlayerDataStore.Window window : PlayerDataStore.Window.values()) {
+            final Map<PlayerDataStore.Statistic, Board> byStatistic = new EnumMap<>(PlayerDataStore.Statistic.class);
+            for (final PlayerDataStore.Statistic statistic : PlayerDataStore.Statistic.values()) {
+                byStatistic.put(statistic, new Board(statistic, window));
+            }
+            this.boards.put(window, byStatistic);
+        }
+    }
+
+    private static String nameOf(final UUID uuid) {
+        final Player online = Bukkit.getPlayer(uuid);
+        if (online != null) {
+            return online.getName();
+        }
+        final OfflinePlayer offline = Bukkit.getOfflinePlayer(uuid);
+        final String name = offline != null ? offline.getName() : null;
+        return name != null ? name : uuid.toString().substring(0, 8);
+    }
+
+    public void update(final PlayerDataManager.PlayerData data) {
+        for (final Map<PlayerDataStore.Statistic, Board> byStatistic : this.boards.values()) {
+            for (final Board board : byStatistic.values()) {
+                board.update(data);
+            }
+        }
+    }
+
+    void update(final PlayerDataStore.Window window, final PlayerDataManager.PlayerData data) {
+        for (final Board board : this.boards.get(window).values()) {
+            board.update(data);
+        }
+    }
+
+    void setRollOverListener(final Runnable listener) {
+        this.rollOverListener = listener;
+    }
+
+    public void remove(final UUID uuid) {
+        for (final Map<PlayerDataStore.Statistic, Board> byStatistic : this.boards.values()) {
+            for (final Board board : byStatistic.values()) {
+                board.remove(uuid);
+            }
+        }
+    }
+
+    public Entry get(final PlayerDataStore.Statistic statistic, final PlayerDataStore.Window window, final int rank) {
+        final Entry[] entries = this.boards.get(window).get(statistic).current();
+        return rank >= 1 && rank <= entries.length ? entries[rank - 1] : null;
+    }
+
+    public List<Entry> top(final PlayerDataStore.Statistic statistic, final PlayerDataStore.Window window, final int limit) {
+        final Entry[] entries = this.boards.get(window).get(statistic).current();
+        return Arrays.asList(Arrays.copyOf(entries, Math.min(Math.max(0, limit), entries.length)));
+    }
+
+    public int getCapacity() {
+        return this.capacity;
+    }
+}
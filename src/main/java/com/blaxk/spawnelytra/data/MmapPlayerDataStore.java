@@ -0,0 +1,532 @@
+package com.blaxk.spawnelytra.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+public class MmapPlayerDataStore implements PlayerDataStore {
+    private static final int MAGIC = 0x53454D4D;
+    private static final int VERSION = 2;
+    private static final int LEGACY_VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int RECORD_BYTES = 160;
+    private static final int LEGACY_RECORD_BYTES = 32;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    private static final long MAX_FILE_BYTES = Integer.MAX_VALUE;
+    private static final int MAX_CAPACITY = Integer.highestOneBit((int) ((MAX_FILE_BYTES - HEADER_BYTES) / RECORD_BYTES));
+
+    private static final int STATE_EMPTY = 0;
+    private static final int STATE_USED = 1;
+    private static final int STATE_DELETED = 2;
+
+    private static final int OFFSET_MSB = 0;
+    private static final int OFFSET_LSB = 8;
+    private static final int OFFSET_FLY = 16;
+    private static final int OFFSET_BOOST = 20;
+    private static final int OFFSET_STATE = 24;
+    private static final int OFFSET_WINDOWS = 28;
+    private static final int OFFSET_CRC = OFFSET_WINDOWS + DayBuckets.BYTES;
+    private static final byte[] NO_WINDOWS = new byte[DayBuckets.BYTES];
+
+    public static final class VerifyReport {
+        private final int capacity;
+        private final int records;
+        private final int corrupt;
+        private final int unreachable;
+        private final boolean repaired;
+
+        VerifyReport(final int capacity, final int records, final int corrupt, final int unreachable, final boolean repaired) {
+            this.capacity = capacity;
+            this.records = records;
+            this.corrupt = corrupt;
+            this.unreachable = unreachable;
+            this.repaired = repaired;
+        }
+
+        public int getCapacity() {
+            return this.capacity;
+        }
+
+        public int getRecords() {
+            return this.records;
+        }
+
+        public int getCorrupt() {
+            return this.corrupt;
+        }
+
+        public int getUnreachable() {
+            return this.unreachable;
+        }
+
+        public boolean isRepaired() {
+            return this.repaired;
+        }
+
+        public boolean isHealthy() {
+            return this.corrupt == 0 && this.unreachable == 0;
+        }
+    }
+
+    private static final Object UNSAFE;
+    private static final Method UNMAPPER;
+
+    static {
+        Object unsafe = null;
+        Method unmapper = null;
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            unmapper = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (final ReflectiveOperationException | RuntimeException ignored) {
+        }
+        UNSAFE = unsafe;
+        UNMAPPER = unmapper;
+    }
+
+    private final Path file;
+    private final CRC32 crc = new CRC32();
+    private final byte[] scratch = new byte[RECORD_BYTES - 4];
+
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private int size;
+    private int tombstones;
+
+    public MmapPlayerDataStore(final File file) throws IOException {
+        this.file = file.toPath();
+        if (this.file.getParent() != null) {
+            Files.createDirectories(this.file.getParent());
+        }
+        if (!Files.exists(this.file)) {
+            this.map(MmapPlayerDataStore.createFile(this.file, INITIAL_CAPACITY), INITIAL_CAPACITY);
+            return;
+        }
+
+        final int storedCapacity;
+        final int version;
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+            }
+            header.flip();
+            version = header.limit() < HEADER_BYTES ? 0 : header.getInt(4);
+            if (header.limit() < HEADER_BYTES || header.getInt(0) != MAGIC || (version != VERSION && version != LEGACY_VERSION)) {
+                throw new IOException(this.file.getFileName() + " is not a player data counter file");
+            }
+            storedCapacity = header.getInt(8);
+            final int recordBytes = version == VERSION ? RECORD_BYTES : LEGACY_RECORD_BYTES;
+            if (Integer.bitCount(storedCapacity) != 1
+                    || channel.size() < HEADER_BYTES + (long) storedCapacity * recordBytes) {
+                throw new IOException(this.file.getFileName() + " is truncated");
+            }
+        }
+        if (version == LEGACY_VERSION) {
+            this.upgrade(storedCapacity);
+            return;
+        }
+        this.map(this.file, storedCapacity);
+        this.recount();
+    }
+
+    private void upgrade(final int storedCapacity) throws IOException {
+        final MappedByteBuffer source;
+        try (final FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            source = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES + (long) storedCapacity * LEGACY_RECORD_BYTES);
+        }
+        final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        MmapPlayerDataStore.createFile(temp, storedCapacity);
+        this.map(temp, storedCapacity);
+        for (int slot = 0; slot < storedCapacity; slot++) {
+            final int base = HEADER_BYTES + slot * LEGACY_RECORD_BYTES;
+            if (STATE_USED != source.getInt(base + OFFSET_STATE)) {
+                continue;
+            }
+            final long msb = source.getLong(base + OFFSET_MSB);
+            final long lsb = source.getLong(base + OFFSET_LSB);
+            this.writeRecord(this.insertSlot(msb, lsb), msb, lsb, source.getInt(base + OFFSET_FLY),
+                    source.getInt(base + OFFSET_BOOST), NO_WINDOWS, STATE_USED);
+        }
+        this.writeHeaderCounts();
+        try {
+            this.replaceWith(temp, source, storedCapacity);
+        } catch (final IOException e) {
+            MmapPlayerDataStore.unmap(this.buffer);
+            this.buffer = null;
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static Path createFile(final Path target, final int capacity) throws IOException {
+        final long length = HEADER_BYTES + (long) capacity * RECORD_BYTES;
+        if (length > MAX_FILE_BYTES) {
+            throw new IOException("Player data counter file cannot grow beyond " + MAX_FILE_BYTES + " bytes");
+        }
+        try (final FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            mapped.putInt(0, MAGIC);
+            mapped.putInt(4, VERSION);
+            mapped.putInt(8, capacity);
+            mapped.force();
+            MmapPlayerDataStore.unmap(mapped);
+        }
+        return target;
+    }
+
+    private void map(final Path path, final int slots) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) slots * RECORD_BYTES);
+        }
+        this.capacity = slots;
+    }
+
+    private void replaceWith(final Path temp, final MappedByteBuffer previous, final int slots) throws IOException {
+        this.buffer.force();
+        MmapPlayerDataStore.unmap(this.buffer);
+        MmapPlayerDataStore.unmap(previous);
+        this.buffer = null;
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.map(this.file, slots);
+    }
+
+    private static void unmap(final MappedByteBuffer mapped) {
+        if (mapped == null || UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invoke(UNSAFE, mapped);
+        } catch (final ReflectiveOperationException | RuntimeException ignored) {
+        }
+    }
+
+    private void recount() {
+        int used = 0;
+        int deleted = 0;
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int state = this.buffer.getInt(MmapPlayerDataStore.offset(slot) + OFFSET_STATE);
+            if (STATE_USED == state) {
+                used++;
+            } else if (STATE_DELETED == state) {
+                deleted++;
+            }
+        }
+        this.size = used;
+        this.tombstones = deleted;
+        this.writeHeaderCounts();
+    }
+
+    private void writeHeaderCounts() {
+        this.buffer.putInt(12, this.size);
+        this.buffer.putInt(16, this.tombstones);
+    }
+
+    @Override
+    public String getName() {
+        return "mmap";
+    }
+
+    private static int offset(final int slot) {
+        return HEADER_BYTES + slot * RECORD_BYTES;
+    }
+
+    private static int hash(final long msb, final long lsb) {
+        final long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int findSlot(final long msb, final long lsb) {
+        final int mask = this.capacity - 1;
+        int slot = MmapPlayerDataStore.hash(msb, lsb) & mask;
+        for (int probes = 0; probes < this.capacity; probes++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            final int state = this.buffer.getInt(base + OFFSET_STATE);
+            if (STATE_EMPTY == state) {
+                return -1;
+            }
+            if (STATE_USED == state
+                    && this.buffer.getLong(base + OFFSET_MSB) == msb
+                    && this.buffer.getLong(base + OFFSET_LSB) == lsb) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int insertSlot(final long msb, final long lsb) {
+        final int mask = this.capacity - 1;
+        int slot = MmapPlayerDataStore.hash(msb, lsb) & mask;
+        while (true) {
+            final int state = this.buffer.getInt(MmapPlayerDataStore.offset(slot) + OFFSET_STATE);
+            if (STATE_USED != state) {
+                if (STATE_DELETED == state) {
+                    this.tombstones--;
+                }
+                this.size++;
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int checksum(final int base) {
+        this.buffer.get(base, this.scratch);
+        this.crc.reset();
+        this.crc.update(this.scratch);
+        return (int) this.crc.getValue();
+    }
+
+    private boolean isIntact(final int base) {
+        return this.buffer.getInt(base + OFFSET_CRC) == this.checksum(base);
+    }
+
+    private void writeRecord(final int slot, final long msb, final long lsb, final int fly, final int boost,
+                             final byte[] windows, final int state) {
+        final int base = MmapPlayerDataStore.offset(slot);
+        this.buffer.putLong(base + OFFSET_MSB, msb);
+        this.buffer.putLong(base + OFFSET_LSB, lsb);
+        this.buffer.putInt(base + OFFSET_FLY, fly);
+        this.buffer.putInt(base + OFFSET_BOOST, boost);
+        this.buffer.putInt(base + OFFSET_STATE, state);
+        this.buffer.put(base + OFFSET_WINDOWS, windows);
+        this.buffer.putInt(base + OFFSET_CRC, this.checksum(base));
+    }
+
+    private PlayerDataManager.PlayerData readRecord(final int slot) {
+        final int base = MmapPlayerDataStore.offset(slot);
+        final byte[] windows = new byte[DayBuckets.BYTES];
+        this.buffer.get(base + OFFSET_WINDOWS, windows);
+        return new PlayerDataManager.PlayerData(
+                new UUID(this.buffer.getLong(base + OFFSET_MSB), this.buffer.getLong(base + OFFSET_LSB)),
+                this.buffer.getInt(base + OFFSET_FLY), this.buffer.getInt(base + OFFSET_BOOST), DayBuckets.fromBytes(windows));
+    }
+
+    @Override
+    public synchronized PlayerDataManager.PlayerData load(final UUID uuid) throws IOException {
+        final int slot = this.findSlot(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (slot < 0) {
+            return new PlayerDataManager.PlayerData(uuid, 0, 0);
+        }
+        if (!this.isIntact(MmapPlayerDataStore.offset(slot))) {
+            throw new IOException("Counter record for " + uuid + " failed its checksum, run /se data repair");
+        }
+        return this.readRecord(slot);
+    }
+
+    @Override
+    public synchronized void saveBatch(final Collection<PlayerDataManager.PlayerData> batch) throws IOException {
+        int rejected = 0;
+        for (final PlayerDataManager.PlayerData data : batch) {
+            final long msb = data.getUuid().getMostSignificantBits();
+            final long lsb = data.getUuid().getLeastSignificantBits();
+            int slot = this.findSlot(msb, lsb);
+            if (slot < 0) {
+                if ((this.size + this.tombstones + 1) * 4L > this.capacity * 3L) {
+                    if (this.capacity < MAX_CAPACITY && this.size * 2 >= this.capacity) {
+                        this.rebuild(this.capacity * 2, false);
+                    } else if ((this.size + 1) * 4L > this.capacity * 3L) {
+                        rejected++;
+                        continue;
+                    } else {
+                        this.rebuild(this.capacity, false);
+                    }
+                }
+                slot = this.insertSlot(msb, lsb);
+            }
+            this.writeRecord(slot, msb, lsb, data.getFlyCount(), data.getBoostCount(), data.getWindows().toBytes(), STATE_USED);
+        }
+        this.writeHeaderCounts();
+        if (rejected > 0) {
+            throw new IOException(this.file.getFileName() + " is full with " + this.size + " players (the limit of one "
+                    + MAX_FILE_BYTES + " byte mapping), " + rejected + " new player(s) were not saved; "
+                    + "switch storage.type to sqlite or journal");
+        }
+    }
+
+    private int rebuild(final int newCapacity, final boolean dropCorrupt) throws IOException {
+        final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        MmapPlayerDataStore.createFile(temp, newCapacity);
+
+        final MappedByteBuffer source = this.buffer;
+        final int sourceCapacity = this.capacity;
+        final int dropped;
+        try {
+            dropped = this.copyInto(temp, newCapacity, source, sourceCapacity, dropCorrupt);
+        } catch (final IOException e) {
+            if (this.buffer != source) {
+                MmapPlayerDataStore.unmap(this.buffer);
+            }
+            this.buffer = source;
+            this.capacity = sourceCapacity;
+            this.recount();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        try {
+            this.replaceWith(temp, source, newCapacity);
+        } catch (final IOException e) {
+            if (this.buffer == null) {
+                final boolean moved = !Files.exists(temp);
+                Files.deleteIfExists(temp);
+                this.map(this.file, moved ? newCapacity : sourceCapacity);
+                this.recount();
+            }
+            throw e;
+        }
+        return dropped;
+    }
+
+    private int copyInto(final Path temp, final int newCapacity, final MappedByteBuffer source, final int sourceCapacity,
+                         final boolean dropCorrupt) throws IOException {
+        this.map(temp, newCapacity);
+        this.size = 0;
+        this.tombstones = 0;
+
+        int dropped = 0;
+        for (int slot = 0; slot < sourceCapacity; slot++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            if (STATE_USED != source.getInt(base + OFFSET_STATE)) {
+                continue;
+            }
+            final long msb = source.getLong(base + OFFSET_MSB);
+            final long lsb = source.getLong(base + OFFSET_LSB);
+            final int fly = source.getInt(base + OFFSET_FLY);
+            final int boost = source.getInt(base + OFFSET_BOOST);
+            final byte[] windows = new byte[DayBuckets.BYTES];
+            source.get(base + OFFSET_WINDOWS, windows);
+            if (dropCorrupt) {
+                source.get(base, this.scratch);
+                this.crc.reset();
+                this.crc.update(this.scratch);
+                if (source.getInt(base + OFFSET_CRC) != (int) this.crc.getValue() || this.findSlot(msb, lsb) >= 0) {
+                    dropped++;
+                    continue;
+                }
+            }
+            this.writeRecord(this.insertSlot(msb, lsb), msb, lsb, fly, boost, windows, STATE_USED);
+        }
+        this.writeHeaderCounts();
+        return dropped;
+    }
+
+    public synchronized VerifyReport verify(final boolean repair) throws IOException {
+        int records = 0;
+        int corrupt = 0;
+        int unreachable = 0;
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            final int state = this.buffer.getInt(base + OFFSET_STATE);
+            if (STATE_EMPTY == state) {
+                continue;
+            }
+            if (!this.isIntact(base) || (STATE_USED != state && STATE_DELETED != state)) {
+                corrupt++;
+                continue;
+            }
+            if (STATE_USED == state) {
+                records++;
+                if (this.findSlot(this.buffer.getLong(base + OFFSET_MSB), this.buffer.getLong(base + OFFSET_LSB)) != slot) {
+                    unreachable++;
+                }
+            }
+        }
+        final boolean repaired = repair && (corrupt > 0 || unreachable > 0 || this.tombstones > 0);
+        if (repaired) {
+            this.rebuild(this.capacity, true);
+        }
+        return new VerifyReport(this.capacity, records, corrupt, unreachable, repaired);
+    }
+
+    @Override
+    public synchronized List<PlayerDataManager.PlayerData> top(final Statistic statistic, final int limit) {
+        final Comparator<PlayerDataManager.PlayerData> order = PlayerDataManager.PlayerData.comparing(statistic);
+        final PriorityQueue<PlayerDataManager.PlayerData> best = new PriorityQueue<>(order);
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            if (STATE_USED != this.buffer.getInt(base + OFFSET_STATE) || !this.isIntact(base)) {
+                continue;
+            }
+            best.add(this.readRecord(slot));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        final List<PlayerDataManager.PlayerData> result = new ArrayList<>(best);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    @Override
+    public synchronized Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) {
+        final TopRanking ranking = new TopRanking(limit, EnumSet.allOf(Window.class));
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            if (STATE_USED == this.buffer.getInt(base + OFFSET_STATE) && this.isIntact(base)) {
+                ranking.offer(this.readRecord(slot));
+            }
+        }
+        return ranking.result();
+    }
+
+    @Override
+    public synchronized void delete(final UUID uuid) {
+        final long msb = uuid.getMostSignificantBits();
+        final long lsb = uuid.getLeastSignificantBits();
+        final int slot = this.findSlot(msb, lsb);
+        if (slot < 0) {
+            return;
+        }
+        this.writeRecord(slot, msb, lsb, 0, 0, NO_WINDOWS, STATE_DELETED);
+        this.size--;
+        this.tombstones++;
+        this.writeHeaderCounts();
+    }
+
+    @Override
+    public synchronized Collection<UUID> getStoredIds() {
+        final List<UUID> ids = new ArrayList<>(this.size);
+        for (int slot = 0; slot < this.capacity; slot++) {
+            final int base = MmapPlayerDataStore.offset(slot);
+            if (STATE_USED == this.buffer.getInt(base + OFFSET_STATE)) {
+                ids.add(new UUID(this.buffer.getLong(base + OFFSET_MSB), this.buffer.getLong(base + OFFSET_LSB)));
+            }
+        }
+        return ids;
+    }
+
+    public synchronized int getCapacity() {
+        return this.capacity;
+    }
+
+    public synchronized int getSize() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized void close() {
+        this.buffer.force();
+    }
+}
@@ -0,0 +1,146 @@
+package com.blaxk.spawnelytra.data;
+
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class PdcPlayerDataStore implements PlayerDataStore {
+    private final JavaPlugin plugin;
+    private final YamlPlayerDataStore legacy;
+    private final PlayerDataStore index;
+    private final NamespacedKey flyKey;
+    private final NamespacedKey boostKey;
+    private final NamespacedKey windowsKey;
+
+    public PdcPlayerDataStore(final JavaPlugin plugin, final File legacyFolder, final PlayerDataStore index) throws IOException {
+        this.plugin = plugin;
+        this.legacy = new YamlPlayerDataStore(legacyFolder, plugin.getLogger(), true);
+        this.index = index;
+        this.flyKey = new NamespacedKey(plugin, "fly_count");
+        this.boostKey = new NamespacedKey(plugin, "boost_count");
+        this.windowsKey = new NamespacedKey(plugin, "windows");
+    }
+
+    @Override
+    public String getName() {
+        return "pdc (" + this.index.getName() + " index)";
+    }
+
+    @Override
+    public PlayerDataManager.PlayerData load(final UUID uuid) throws IOException {
+        return this.index.load(uuid);
+    }
+
+    @Override
+    public void saveBatch(final Collection<PlayerDataManager.PlayerData> batch) throws IOException {
+        this.index.saveBatch(batch);
+        for (final PlayerDataManager.PlayerData data : batch) {
+            final Player player = Bukkit.getPlayer(data.getUuid());
+            if (player != null) {
+                final int fly = data.getFlyCount();
+                final int boost = data.getBoostCount();
+                final byte[] windows = data.getWindows().toBytes();
+                SchedulerUtil.runAtEntityNow(this.plugin, player, () -> this.write(player, fly, boost, windows));
+            }
+        }
+    }
+
+    @Override
+    public boolean attach(final Player player, final PlayerDataManager.PlayerData data) {
+        final PersistentDataContainer container = player.getPersistentDataContainer();
+        final Integer storedFly = container.get(this.flyKey, PersistentDataType.INTEGER);
+        final Integer storedBoost = container.get(this.boostKey, PersistentDataType.INTEGER);
+        final byte[] storedWindows = container.get(this.windowsKey, PersistentDataType.BYTE_ARRAY);
+        boolean changed = storedFly != null && storedBoost != null && data.raiseTo(storedFly, storedBoost);
+        if (storedWindows != null && data.getWindows().raiseTo(DayBuckets.fromBytes(storedWindows))) {
+            changed = true;
+        }
+
+        boolean legacyMerged = false;
+        if (this.legacy.exists(player.getUniqueId())) {
+            try {
+                if (data.raiseTo(this.legacy.load(player.getUniqueId()))) {
+                    changed = true;
+                }
+                legacyMerged = true;
+            } catch (final IOException e) {
+                this.plugin.getLogger().warning("Failed to read legacy player data file of " + player.getName()
+                        + ", keeping it for the next join: " + e.getMessage());
+            }
+        }
+        this.write(player, data);
+
+        if (legacyMerged) {
+            try {
+                this.legacy.delete(player.getUniqueId());
+            } catch (final IOException e) {
+                this.plugin.getLogger().warning("Failed to remove migrated player data file of " + player.getName() + ": " + e.getMessage());
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void detach(final Player player, final PlayerDataManager.PlayerData data) {
+        this.write(player, data);
+    }
+
+    private void write(final Player player, final PlayerDataManager.PlayerData data) {
+        this.write(player, data.getFlyCount(), data.getBoostCount(), data.getWindows().toBytes());
+    }
+
+    private void write(final Player player, final int fly, final int boost, final byte[] windows) {
+        final PersistentDataContainer container = player.getPersistentDataContainer();
+        container.set(this.flyKey, PersistentDataType.INTEGER, fly);
+        container.set(this.boostKey, PersistentDataType.INTEGER, boost);
+        container.set(this.windowsKey, PersistentDataType.BYTE_ARRAY, windows);
+    }
+
+    @Override
+    public List<PlayerDataManager.PlayerData> top(final Statistic statistic, final int limit) throws IOException {
+        return this.index.top(statistic, limit);
+    }
+
+    @Override
+    public Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) throws IOException {
+        return this.index.topAll(limit);
+    }
+
+    @Override
+    public void delete(final UUID uuid) throws IOException {
+        this.index.delete(uuid);
+        final Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            SchedulerUtil.runAtEntityNow(this.plugin, player, () -> {
+                player.getPersistentDataContainer().remove(this.flyKey);
+                player.getPersistentDataContainer().remove(this.boostKey);
+                player.getPersistentDataContainer().remove(this.windowsKey);
+            });
+        }
+    }
+
+    @Override
+    public Collection<UUID> getStoredIds() throws IOException {
+        return this.index.getStoredIds();
+    }
+
+    public PlayerDataStore getIndex() {
+        return this.index;
+    }
+
+    @Override
+    public void close() {
+        this.index.close();
+    }
+}
@@ -0,0 +1,324 @@
+package com.blaxk.spawnelytra.data;
+
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class PlayerDataBulkMigration {
+    private static final int BATCH_SIZE = 500;
+    private static final String CHECKPOINT = ".migration";
+    private static final String EXTENSION = ".yml";
+
+    private static final class Parsed {
+        final Path source;
+        final PlayerDataManager.PlayerData data;
+
+        Parsed(final Path source, final PlayerDataManager.PlayerData data) {
+            this.source = source;
+            this.data = data;
+        }
+    }
+
+    private final JavaPlugin plugin;
+    private final PlayerDataManager manager;
+    private final PlayerDataStore target;
+    private final Path sourceFolder;
+    private final Path archiveFolder;
+    private final int parallelism;
+    private final Consumer<String> reporter;
+
+    private final AtomicLong total = new AtomicLong(-1L);
+    private final AtomicLong migrated = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final BlockingQueue<Parsed> parsed = new ArrayBlockingQueue<>(BATCH_SIZE * 4);
+    private final long previouslyMigrated;
+
+    private volatile boolean cancelled;
+    private volatile boolean finished;
+    private volatile long startedNanos;
+    private SchedulerUtil.TaskHandle progressTask;
+    private Thread writer;
+
+    PlayerDataBulkMigration(final JavaPlugin plugin, final PlayerDataManager manager, final PlayerDataStore target,
+                            final File sourceFolder, final int parallelism, final Consumer<String> reporter) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.target = target;
+        this.sourceFolder = sourceFolder.toPath();
+        this.archiveFolder = sourceFolder.toPath().resolveSibling(sourceFolder.getName() + "-migrated");
+        this.parallelism = Math.max(1, parallelism);
+        this.reporter = reporter;
+        this.previouslyMigrated = this.readCheckpoint();
+    }
+
+    static boolean hasPendingFiles(final File sourceFolder) {
+        if (Files.exists(sourceFolder.toPath().resolve(CHECKPOINT))) {
+            return true;
+        }
+        for (final Path folder : PlayerDataBulkMigration.folders(sourceFolder.toPath())) {
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + EXTENSION)) {
+                if (stream.iterator().hasNext()) {
+                    return true;
+                }
+            } catch (final IOException ignored) {
+            }
+        }
+        return false;
+    }
+
+    private static List<Path> folders(final Path root) {
+        final List<Path> folders = new ArrayList<>();
+        if (!Files.isDirectory(root)) {
+            return folders;
+        }
+        folders.add(root);
+        try (final DirectoryStream<Path> outer = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (final Path first : outer) {
+                try (final DirectoryStream<Path> inner = Files.newDirectoryStream(first, Files::isDirectory)) {
+                    for (final Path second : inner) {
+                        folders.add(second);
+                    }
+                }
+            }
+        } catch (final IOException ignored) {
+        }
+        return folders;
+    }
+
+    public void start() {
+        this.startedNanos = System.nanoTime();
+        this.writeCheckpoint();
+        this.report((this.previouslyMigrated > 0 ? "Resuming" : "Starting") + " migration of " + this.sourceFolder.getFileName()
+                + " into " + this.target.getName() + " (" + this.parallelism + " parallel parsers)");
+        this.progressTask = SchedulerUtil.runAsyncRepeating(this.plugin, () -> this.report(this.describe()), 100L, 100L);
+
+        final Thread producer = new Thread(this::produce, "SpawnElytra-MigrationReader");
+        producer.setDaemon(true);
+        producer.start();
+        this.writer = new Thread(() -> this.write(producer), "SpawnElytra-MigrationWriter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    void stop(final long timeoutMillis) {
+        this.cancel();
+        try {
+            this.writer.join(timeoutMillis);
+            if (this.writer.isAlive()) {
+                this.plugin.getLogger().info("Waiting for the current player data migration batch to finish...");
+                this.writer.join();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void produce() {
+        final List<Path> folders = PlayerDataBulkMigration.folders(this.sourceFolder);
+        long count = 0L;
+        for (final Path folder : folders) {
+            try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + EXTENSION)) {
+                for (final Path ignored : stream) {
+                    count++;
+                }
+            } catch (final IOException ignored) {
+            }
+        }
+        this.total.set(count);
+
+        final Semaphore permits = new Semaphore(this.parallelism);
+        try (final ExecutorService parsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (final Path folder : folders) {
+                try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + EXTENSION)) {
+                    for (final Path file : stream) {
+                        if (this.cancelled) {
+                            break;
+                        }
+                        permits.acquire();
+                        parsers.execute(() -> {
+                            try {
+                                this.parse(file);
+                            } finally {
+                                permits.release();
+                            }
+                        });
+                    }
+                } catch (final IOException e) {
+                    this.plugin.getLogger().warning("Failed to read " + folder + ": " + e.getMessage());
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parse(final Path file) {
+        final String name = file.getFileName().toString();
+        final UUID uuid;
+        try {
+            uuid = UUID.fromString(name.substring(0, name.length() - EXTENSION.length()));
+        } catch (final IllegalArgumentException e) {
+            return;
+        }
+        final PlayerDataManager.PlayerData data = YamlPlayerDataStore.read(uuid, file);
+        if (data == null) {
+            this.failed.incrementAndGet();
+            this.plugin.getLogger().warning("Skipping unreadable player data file " + name + ", moved it to " + this.archiveFolder.getFileName());
+            try {
+                final Path archived = this.archiveFolder.resolve(this.sourceFolder.relativize(file) + ".corrupt");
+                Files.createDirectories(archived.getParent());
+                Files.move(file, archived, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final IOException e) {
+                this.plugin.getLogger().warning("Failed to move " + name + ": " + e.getMessage());
+            }
+            return;
+        }
+        try {
+            final Parsed entry = new Parsed(file, data);
+            while (!this.parsed.offer(entry, 250L, TimeUnit.MILLISECONDS)) {
+                if (this.cancelled) {
+                    return;
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(final Thread producer) {
+        final List<Parsed> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!this.cancelled) {
+                final Parsed next = this.parsed.poll(250L, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    batch.add(next);
+                    if (batch.size() < BATCH_SIZE) {
+                        continue;
+                    }
+                } else if (producer.isAlive() || !this.parsed.isEmpty()) {
+                    if (batch.isEmpty()) {
+                        continue;
+                    }
+                } else if (batch.isEmpty()) {
+                    break;
+                }
+                this.commit(batch);
+                batch.clear();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException e) {
+            this.plugin.getLogger().severe("Player data migration stopped: " + e.getMessage());
+            this.cancelled = true;
+        }
+        if (this.cancelled) {
+            this.parsed.clear();
+        }
+        this.finish();
+    }
+
+    private void commit(final List<Parsed> batch) throws IOException {
+        final List<PlayerDataManager.PlayerData> merged = new ArrayList<>(batch.size());
+        synchronized (this.target) {
+            for (final Parsed entry : batch) {
+                final PlayerDataManager.PlayerData data = entry.data;
+                if (this.manager.mergeLoaded(data)) {
+                    continue;
+                }
+                final PlayerDataManager.PlayerData existing = this.target.load(data.getUuid());
+                existing.raiseTo(data);
+                merged.add(existing);
+            }
+            this.target.saveBatch(merged);
+        }
+        for (final PlayerDataManager.PlayerData data : merged) {
+            this.manager.getLeaderboard().update(data);
+        }
+
+        for (final Parsed entry : batch) {
+            final Path archived = this.archiveFolder.resolve(this.sourceFolder.relativize(entry.source));
+            Files.createDirectories(archived.getParent());
+            Files.move(entry.source, archived, StandardCopyOption.REPLACE_EXISTING);
+        }
+        this.migrated.addAndGet(batch.size());
+        this.writeCheckpoint();
+    }
+
+    private void finish() {
+        if (this.progressTask != null) {
+            this.progressTask.cancel();
+        }
+        this.finished = true;
+        if (this.cancelled) {
+            this.report("Migration paused: " + this.describe() + ". Run /se data migrate again to resume.");
+            return;
+        }
+        try {
+            Files.deleteIfExists(this.sourceFolder.resolve(CHECKPOINT));
+        } catch (final IOException ignored) {
+        }
+        this.report("Migration finished: " + this.describe() + ". Old files were moved to " + this.archiveFolder.getFileName() + ".");
+    }
+
+    private long readCheckpoint() {
+        try {
+            return Long.parseLong(Files.readString(this.sourceFolder.resolve(CHECKPOINT), StandardCharsets.UTF_8).trim());
+        } catch (final IOException | NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint() {
+        try {
+            Files.createDirectories(this.sourceFolder);
+            Files.writeString(this.sourceFolder.resolve(CHECKPOINT),
+                    String.valueOf(this.previouslyMigrated + this.migrated.get()), StandardCharsets.UTF_8);
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to write migration checkpoint: " + e.getMessage());
+        }
+    }
+
+    private void report(final String line) {
+        this.plugin.getLogger().info(line);
+        if (this.reporter != null) {
+            this.reporter.accept(line);
+        }
+    }
+
+    public String describe() {
+        final long done = this.migrated.get();
+        final long all = this.total.get();
+        final double seconds = Math.max(0.001D, (System.nanoTime() - this.startedNanos) / 1_000_000_000.0D);
+        final String progress = all < 0 ? done + " entries (counting...)"
+                : String.format(Locale.ROOT, "%d/%d entries (%.1f%%)", done, all, all == 0 ? 100.0D : done * 100.0D / all);
+        return String.format(Locale.ROOT, "%s, %.0f/s, %d failed, %d from earlier runs",
+                progress, done / seconds, this.failed.get(), this.previouslyMigrated);
+    }
+
+    public boolean isFinished() {
+        return this.finished;
+    }
+}
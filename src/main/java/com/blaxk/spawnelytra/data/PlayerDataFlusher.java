@@ -0,0 +1,134 @@
+package com.blaxk.spawnelytra.data;
+
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PlayerDataFlusher {
+    private static final int BATCH_SIZE = 256;
+
+    private final JavaPlugin plugin;
+    private final PlayerDataManager manager;
+    private final long intervalTicks;
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final Object flushLock = new Object();
+
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedEntries = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile int lastFlushSize;
+
+    private SchedulerUtil.TaskHandle task;
+
+    public PlayerDataFlusher(final JavaPlugin plugin, final PlayerDataManager manager, final long intervalSeconds) {
+        this.plugin = plugin;
+        this.manager = manager;
+        this.intervalTicks = Math.max(1L, intervalSeconds) * 20L;
+    }
+
+    public void start() {
+        if (this.task == null) {
+            this.task = SchedulerUtil.runAsyncRepeating(this.plugin, this::flush, this.intervalTicks, this.intervalTicks);
+        }
+    }
+
+    public void markDirty(final UUID uuid) {
+        this.dirty.add(uuid);
+    }
+
+    public void flushLater(final UUID uuid) {
+        if (this.dirty.contains(uuid)) {
+            SchedulerUtil.runAsync(this.plugin, () -> {
+                synchronized (this.flushLock) {
+                    if (this.dirty.remove(uuid)) {
+                        this.manager.persist(uuid);
+                    }
+                }
+            });
+        }
+    }
+
+    public void flush() {
+        this.flushUntil(Long.MAX_VALUE);
+    }
+
+    private int flushUntil(final long deadlineNanos) {
+        synchronized (this.flushLock) {
+            final long start = System.nanoTime();
+            int written = 0;
+            final List<UUID> batch = new ArrayList<>(BATCH_SIZE);
+            final Iterator<UUID> iterator = this.dirty.iterator();
+            while (iterator.hasNext()) {
+                if (System.nanoTime() - deadlineNanos > 0) {
+                    break;
+                }
+                batch.add(iterator.next());
+                iterator.remove();
+                if (batch.size() >= BATCH_SIZE) {
+                    this.manager.persistBatch(batch);
+                    written += batch.size();
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                this.manager.persistBatch(batch);
+                written += batch.size();
+            }
+            if (written > 0) {
+                final long elapsed = System.nanoTime() - start;
+                this.lastFlushNanos = elapsed;
+                this.lastFlushSize = written;
+                this.totalFlushNanos.addAndGet(elapsed);
+                this.flushCount.incrementAndGet();
+                this.flushedEntries.addAndGet(written);
+            }
+            return written;
+        }
+    }
+
+    public void shutdown(final long timeoutSeconds) {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1L, timeoutSeconds));
+        this.flushUntil(deadline);
+        if (!this.dirty.isEmpty()) {
+            this.plugin.getLogger().warning("Final player data flush timed out; " + this.dirty.size() + " player(s) could not be saved.");
+        }
+    }
+
+    public int getQueueDepth() {
+        return this.dirty.size();
+    }
+
+    public long getFlushCount() {
+        return this.flushCount.get();
+    }
+
+    public long getFlushedEntries() {
+        return this.flushedEntries.get();
+    }
+
+    public int getLastFlushSize() {
+        return this.lastFlushSize;
+    }
+
+    public double getLastFlushMillis() {
+        return this.lastFlushNanos / 1_000_000.0D;
+    }
+
+    public double getAverageFlushMillis() {
+        final long count = this.flushCount.get();
+        return count == 0 ? 0.0D : (this.totalFlushNanos.get() / (double) count) / 1_000_000.0D;
+    }
+}
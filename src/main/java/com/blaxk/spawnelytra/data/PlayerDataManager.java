@@ -1,62 +1,187 @@
 package com.blaxk.spawnelytra.data;
 
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
-public class PlayerDataManager {
+public class PlayerDataManager implements Listener {
     private final JavaPlugin plugin;
     private final File dataFolder;
+    private PlayerDataStore store;
     private final ConcurrentHashMap<UUID, PlayerData> playerDataMap = new ConcurrentHashMap<>();
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
     private boolean initialized;
+    private PlayerDataFlusher flusher;
+    private SchedulerUtil.TaskHandle evictionTask;
+    private long unloadGraceMillis;
+    private volatile PlayerDataBulkMigration migration;
+    private Leaderboard leaderboard;
+    private final AtomicLong leaderboardDay = new AtomicLong();
+    private YamlPlayerDataStore legacyStore;
 
     public PlayerDataManager(final JavaPlugin plugin) {
         this.plugin = plugin;
         dataFolder = new File(plugin.getDataFolder(), "playerdata");
-
-        if (!this.dataFolder.exists()) {
-            this.dataFolder.mkdirs();
-        }
     }
 
     public void initialize() {
-        if (!this.dataFolder.exists()) {
-            this.dataFolder.mkdirs();
+        this.initialized = true;
+        this.store = this.createStore();
+        this.leaderboard = new Leaderboard(this.plugin.getConfig().getInt("leaderboard.size", 100));
+        this.leaderboardDay.set(DayBuckets.today());
+        this.leaderboard.setRollOverListener(this::reseedWindows);
+        this.unloadGraceMillis = TimeUnit.SECONDS.toMillis(Math.max(0L, this.plugin.getConfig().getLong("storage.unload_grace_seconds", 300L)));
+
+        if (this.plugin.getConfig().getBoolean("storage.write_behind", true)) {
+            this.flusher = new PlayerDataFlusher(this.plugin, this,
+                    this.plugin.getConfig().getLong("storage.flush_interval_seconds", 30L));
+            this.flusher.start();
         }
 
-        final File[] dataFiles = this.dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (dataFiles != null) {
-            for (final File file : dataFiles) {
-                this.loadPlayerData(file);
+        final List<Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
+        SchedulerUtil.runAsync(this.plugin, () -> {
+            for (final Player player : online) {
+                final PlayerData data = this.loadNow(player.getUniqueId());
+                data.releasedAt = 0L;
+                SchedulerUtil.runAtEntityNow(this.plugin, player, () -> this.attach(player, data));
             }
+        });
+        SchedulerUtil.runAsync(this.plugin, this::seedLeaderboard);
+
+        this.evictionTask = SchedulerUtil.runAsyncRepeating(this.plugin, this::evictReleased, 20L * 60, 20L * 60);
+
+        if (!(this.store instanceof YamlPlayerDataStore) && PlayerDataBulkMigration.hasPendingFiles(this.dataFolder)) {
+            this.startMigration(null);
         }
+    }
 
-        this.initialized = true;
+    private void seedLeaderboard() {
+        final Map<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, List<PlayerData>>> top;
+        try {
+            top = this.store.topAll(this.leaderboard.getCapacity());
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to query player data: " + e.getMessage());
+            return;
+        }
+        for (final Map.Entry<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, List<PlayerData>>> window : top.entrySet()) {
+            for (final List<PlayerData> ranked : window.getValue().values()) {
+                for (final PlayerData data : ranked) {
+                    final PlayerData loaded = this.playerDataMap.get(data.getUuid());
+                    this.leaderboard.update(window.getKey(), loaded != null ? loaded : data);
+                }
+            }
+        }
     }
 
-    private void loadPlayerData(final File file) {
-        final String filename = file.getName();
-        if (filename.endsWith(".yml")) {
-            try {
-                final String uuidString = filename.substring(0, filename.length() - 4);
-                final UUID uuid = UUID.fromString(uuidString);
+    private void reseedWindows() {
+        final long today = DayBuckets.today();
+        if (this.leaderboardDay.getAndSet(today) != today) {
+            SchedulerUtil.runAsync(this.plugin, this::seedLeaderboard);
+        }
+    }
 
-                final FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-                final int flyCount = config.getInt("fly_count", 0);
-                final int boostCount = config.getInt("boost_count", 0);
+    public Leaderboard getLeaderboard() {
+        return this.leaderboard;
+    }
+
+    public synchronized PlayerDataBulkMigration startMigration(final Consumer<String> reporter) {
+        if (this.store instanceof YamlPlayerDataStore || (this.migration != null && !this.migration.isFinished())) {
+            return null;
+        }
+        if (this.legacyStore == null) {
+            this.legacyStore = new YamlPlayerDataStore(this.dataFolder, this.plugin.getLogger(), true);
+        }
+        this.migration = new PlayerDataBulkMigration(this.plugin, this, this.store, this.dataFolder,
+                this.plugin.getConfig().getInt("storage.migration.parallelism", 16), reporter);
+        this.migration.start();
+        return this.migration;
+    }
+
+    public PlayerDataBulkMigration getMigration() {
+        return this.migration;
+    }
+
+    boolean mergeLoaded(final PlayerData legacy) {
+        final PlayerData loaded = this.playerDataMap.get(legacy.getUuid());
+        if (loaded == null) {
+            return false;
+        }
+        if (loaded.raiseTo(legacy)) {
+            this.markChanged(loaded);
+        }
+        return true;
+    }
+
+    private PlayerDataStore createStore() {
+        final String type = this.plugin.getConfig().getString("storage.type", "yaml").toLowerCase(Locale.ROOT);
+        try {
+            final PlayerDataStore store = switch (type) {
+                case "yaml" -> null;
+                case "sqlite" -> new SqlitePlayerDataStore(new File(this.plugin.getDataFolder(), "playerdata.db"));
+                case "journal" -> new JournalPlayerDataStore(new File(this.plugin.getDataFolder(), "journal"),
+                        this.plugin.getConfig().getLong("storage.journal.compact_after_records", 100000L),
+                        this.plugin.getLogger());
+                case "mmap" -> new MmapPlayerDataStore(new File(this.plugin.getDataFolder(), "playerdata.bin"));
+                case "pdc" -> new PdcPlayerDataStore(this.plugin, this.dataFolder,
+                        new MmapPlayerDataStore(new File(this.plugin.getDataFolder(), "pdc-index.bin")));
+                default -> {
+                    this.plugin.getLogger().warning("Unknown storage.type '" + type + "', using yaml");
+                    yield null;
+                }
+            };
+            if (store != null) {
+                return store;
+            }
+        } catch (final IOException e) {
+            this.plugin.getLogger().severe("Failed to open " + type + " player data store, falling back to yaml: " + e.getMessage());
+        }
+        final boolean sharded = this.plugin.getConfig().getBoolean("storage.yaml.sharded", true);
+        final YamlPlayerDataStore yaml = new YamlPlayerDataStore(this.dataFolder, this.plugin.getLogger(), sharded);
+        if (sharded) {
+            yaml.startShardMigration(this.plugin.getConfig().getInt("storage.yaml.migration_threads", 4));
+        }
+        return yaml;
+    }
 
-                this.playerDataMap.put(uuid, new PlayerData(uuid, flyCount, boostCount));
-            } catch (final IllegalArgumentException e) {
-                this.plugin.getLogger().warning("Invalid player data file: " + file.getName());
+    private PlayerData loadPlayerData(final UUID uuid) {
+        try {
+            final PlayerDataBulkMigration running = this.migration;
+            if (running == null || running.isFinished()) {
+                return this.store.load(uuid);
+            }
+            synchronized (this.store) {
+                final PlayerData data = this.store.load(uuid);
+                final PlayerData legacy = this.legacyStore.load(uuid);
+                data.raiseTo(legacy);
+                return data;
             }
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to load player data for " + uuid + ", retrying on next access: " + e.getMessage());
+            return null;
         }
     }
 
@@ -65,50 +190,264 @@ public class PlayerDataManager {
             this.initialize();
         }
 
-        return this.playerDataMap.computeIfAbsent(uuid, id -> new PlayerData(id, 0, 0));
+        final PlayerData loaded = this.playerDataMap.get(uuid);
+        if (loaded != null) {
+            return loaded;
+        }
+        if (this.loading.add(uuid)) {
+            SchedulerUtil.runAsync(this.plugin, () -> {
+                try {
+                    this.loadNow(uuid);
+                } finally {
+                    this.loading.remove(uuid);
+                }
+            });
+        }
+        return PlayerData.unavailable(uuid);
+    }
+
+    private PlayerData loadNow(final UUID uuid) {
+        final PlayerData data = this.playerDataMap.computeIfAbsent(uuid, this::loadPlayerData);
+        return data != null ? data : PlayerData.unavailable(uuid);
+    }
+
+    public boolean isLoaded(final UUID uuid) {
+        return this.playerDataMap.containsKey(uuid);
+    }
+
+    public int getLoadedCount() {
+        return this.playerDataMap.size();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(final AsyncPlayerPreLoginEvent event) {
+        if (AsyncPlayerPreLoginEvent.Result.ALLOWED != event.getLoginResult()) {
+            return;
+        }
+        if (!this.initialized) {
+            this.initialize();
+        }
+        this.loadNow(event.getUniqueId()).releasedAt = System.currentTimeMillis();
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(final PlayerJoinEvent event) {
+        final Player player = event.getPlayer();
+        final UUID uuid = player.getUniqueId();
+        final PlayerData loaded = this.playerDataMap.get(uuid);
+        if (loaded != null) {
+            loaded.releasedAt = 0L;
+            this.attach(player, loaded);
+            return;
+        }
+        SchedulerUtil.runAsync(this.plugin, () -> {
+            final PlayerData data = this.loadNow(uuid);
+            data.releasedAt = 0L;
+            SchedulerUtil.runAtEntityNow(this.plugin, player, () -> this.attach(player, data));
+        });
+    }
+
+    private void attach(final Player player, final PlayerData data) {
+        if (!player.isOnline() || data.unavailable) {
+            return;
+        }
+        data.attached = true;
+        if (this.store.attach(player, data)) {
+            this.markChanged(data);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        final UUID uuid = event.getPlayer().getUniqueId();
+        final PlayerData data = this.playerDataMap.get(uuid);
+        if (data != null) {
+            data.releasedAt = System.currentTimeMillis();
+            if (data.attached) {
+                data.attached = false;
+                this.store.detach(event.getPlayer(), data);
+            }
+        }
+        if (this.flusher != null) {
+            this.flusher.flushLater(uuid);
+        }
+    }
+
+    private void evictReleased() {
+        final long now = System.currentTimeMillis();
+        for (final PlayerData data : this.playerDataMap.values()) {
+            final long releasedAt = data.releasedAt;
+            if (releasedAt != 0L && now - releasedAt >= this.unloadGraceMillis && !data.dirty) {
+                this.playerDataMap.remove(data.getUuid(), data);
+            }
+        }
     }
 
     public void incrementFlyCount(final Player player) {
-        final PlayerData data = this.getPlayerData(player.getUniqueId());
-        data.incrementFlyCount();
-        this.savePlayerData(data);
+        this.change(player, PlayerData::incrementFlyCount);
     }
 
     public void incrementBoostCount(final Player player) {
-        final PlayerData data = this.getPlayerData(player.getUniqueId());
-        data.incrementBoostCount();
-        this.savePlayerData(data);
+        this.change(player, PlayerData::incrementBoostCount);
+    }
+
+    private void change(final Player player, final Consumer<PlayerData> change) {
+        final UUID uuid = player.getUniqueId();
+        final PlayerData loaded = this.playerDataMap.get(uuid);
+        if (loaded != null) {
+            this.apply(player, loaded, change);
+            return;
+        }
+        SchedulerUtil.runAsync(this.plugin, () -> {
+            final PlayerData data = this.loadNow(uuid);
+            SchedulerUtil.runAtEntityNow(this.plugin, player, () -> {
+                if (player.isOnline()) {
+                    data.releasedAt = 0L;
+                }
+                this.apply(player, data, change);
+            });
+        });
+    }
+
+    private void apply(final Player player, final PlayerData data, final Consumer<PlayerData> change) {
+        if (!data.attached) {
+            this.attach(player, data);
+        }
+        change.accept(data);
+        this.markChanged(data);
+    }
+
+    private void markChanged(final PlayerData data) {
+        if (data.unavailable) {
+            return;
+        }
+        this.leaderboard.update(data);
+        data.dirty = true;
+        if (this.flusher != null) {
+            this.flusher.markDirty(data.getUuid());
+        } else {
+            this.savePlayerData(data);
+        }
+    }
+
+    void persist(final UUID uuid) {
+        this.persistBatch(Collections.singletonList(uuid));
+    }
+
+    void persistBatch(final Collection<UUID> uuids) {
+        final List<PlayerData> batch = new ArrayList<>(uuids.size());
+        for (final UUID uuid : uuids) {
+            final PlayerData data = this.playerDataMap.get(uuid);
+            if (data != null && data.dirty) {
+                batch.add(data);
+            }
+        }
+        this.saveBatch(batch);
     }
 
     public void savePlayerData(final PlayerData data) {
-        try {
-            final File file = new File(this.dataFolder, data.getUuid().toString() + ".yml");
-            final FileConfiguration config = new YamlConfiguration();
+        this.saveBatch(Collections.singletonList(data));
+    }
+
+    private void saveBatch(final List<PlayerData> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        synchronized (this.store) {
+            for (final PlayerData data : batch) {
+                data.dirty = false;
+            }
+            try {
+                this.store.saveBatch(batch);
+            } catch (final IOException e) {
+                for (final PlayerData data : batch) {
+                    data.dirty = true;
+                    if (this.flusher != null) {
+                        this.flusher.markDirty(data.getUuid());
+                    }
+                }
+                this.plugin.getLogger().warning("Failed to save player data: " + e.getMessage());
+            }
+        }
+    }
 
-            config.set("fly_count", data.getFlyCount());
-            config.set("boost_count", data.getBoostCount());
+    public List<PlayerData> getTop(final PlayerDataStore.Statistic statistic, final int limit) {
+        try {
+            return this.store.top(statistic, limit);
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Failed to query player data: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
 
-            config.save(file);
+    public void deletePlayerData(final UUID uuid) {
+        this.playerDataMap.remove(uuid);
+        this.leaderboard.remove(uuid);
+        try {
+            this.store.delete(uuid);
         } catch (final IOException e) {
-            this.plugin.getLogger().warning("Failed to save player data: " + e.getMessage());
+            this.plugin.getLogger().warning("Failed to delete player data: " + e.getMessage());
         }
     }
 
     public void saveAllPlayerData() {
-        for (final PlayerData data : this.playerDataMap.values()) {
-            this.savePlayerData(data);
+        if (this.evictionTask != null) {
+            this.evictionTask.cancel();
+            this.evictionTask = null;
+        }
+        final PlayerDataBulkMigration running = this.migration;
+        if (running != null) {
+            running.stop(TimeUnit.SECONDS.toMillis(10L));
+        }
+        if (this.flusher != null) {
+            this.flusher.shutdown(this.plugin.getConfig().getLong("storage.shutdown_flush_timeout_seconds", 10L));
+        } else {
+            final List<PlayerData> dirty = new ArrayList<>();
+            for (final PlayerData data : this.playerDataMap.values()) {
+                if (data.dirty) {
+                    dirty.add(data);
+                }
+            }
+            this.saveBatch(dirty);
         }
+        if (this.store != null) {
+            this.store.close();
+        }
+    }
+
+    public PlayerDataFlusher getFlusher() {
+        return this.flusher;
+    }
+
+    public PlayerDataStore getStore() {
+        return this.store;
     }
 
     public static class PlayerData {
         private final UUID uuid;
-        private int flyCount;
-        private int boostCount;
+        private final AtomicInteger flyCount;
+        private final AtomicInteger boostCount;
+        private final DayBuckets windows;
+        private volatile boolean dirty;
+        private volatile long releasedAt = System.currentTimeMillis();
+        private boolean unavailable;
+        private volatile boolean attached;
 
         public PlayerData(final UUID uuid, final int flyCount, final int boostCount) {
+            this(uuid, flyCount, boostCount, new DayBuckets());
+        }
+
+        public PlayerData(final UUID uuid, final int flyCount, final int boostCount, final DayBuckets windows) {
             this.uuid = uuid;
-            this.flyCount = flyCount;
-            this.boostCount = boostCount;
+            this.flyCount = new AtomicInteger(flyCount);
+            this.boostCount = new AtomicInteger(boostCount);
+            this.windows = windows;
+        }
+
+        static PlayerData unavailable(final UUID uuid) {
+            final PlayerData data = new PlayerData(uuid, 0, 0);
+            data.unavailable = true;
+            return data;
         }
 
         public UUID getUuid() {
@@ -116,19 +455,59 @@ public class PlayerDataManager {
         }
 
         public int getFlyCount() {
-            return this.flyCount;
+            return this.flyCount.get();
         }
 
         public int getBoostCount() {
-            return this.boostCount;
+            return this.boostCount.get();
+        }
+
+        public DayBuckets getWindows() {
+            return this.windows;
         }
 
         public void incrementFlyCount() {
-            this.flyCount++;
+            this.flyCount.incrementAndGet();
+            this.windows.add(PlayerDataStore.Statistic.FLY_COUNT, DayBuckets.today(), 1);
         }
 
         public void incrementBoostCount() {
-            this.boostCount++;
+            this.boostCount.incrementAndGet();
+            this.windows.add(PlayerDataStore.Statistic.BOOST_COUNT, DayBuckets.today(), 1);
+        }
+
+        boolean raiseTo(final int flyCount, final int boostCount) {
+            final int previousFly = this.flyCount.getAndAccumulate(flyCount, Math::max);
+            final int previousBoost = this.boostCount.getAndAccumulate(boostCount, Math::max);
+            return previousFly < flyCount || previousBoost < boostCount;
+        }
+
+        boolean raiseTo(final PlayerData other) {
+            final boolean counts = this.raiseTo(other.getFlyCount(), other.getBoostCount());
+            return this.windows.raiseTo(other.windows) || counts;
+        }
+
+        public boolean isDirty() {
+            return this.dirty;
+        }
+
+        public int get(final PlayerDataStore.Statistic statistic) {
+            return switch (statistic) {
+                case FLY_COUNT -> this.flyCount.get();
+                case BOOST_COUNT -> this.boostCount.get();
+                case TOTAL -> this.flyCount.get() + this.boostCount.get();
+            };
+        }
+
+        public int get(final PlayerDataStore.Statistic statistic, final PlayerDataStore.Window window) {
+            if (PlayerDataStore.Window.LIFETIME == window) {
+                return this.get(statistic);
+            }
+            return this.windows.sum(statistic, window.getDays(), DayBuckets.today());
+        }
+
+        public static Comparator<PlayerData> comparing(final PlayerDataStore.Statistic statistic) {
+            return Comparator.comparingInt(data -> data.get(statistic));
         }
     }
 }
@@ -0,0 +1,85 @@
+package com.blaxk.spawnelytra.data;
+
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+public interface PlayerDataStore {
+    enum Statistic {
+        FLY_COUNT,
+        BOOST_COUNT,
+        TOTAL
+    }
+
+    enum Window {
+        LIFETIME(0),
+        DAILY(1),
+        WEEKLY(7),
+        MONTHLY(30);
+
+        private final int days;
+
+        Window(final int days) {
+            this.days = days;
+        }
+
+        public int getDays() {
+            return this.days;
+        }
+
+        public String getId() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Window fromString(final String value) {
+            for (final Window window : Window.values()) {
+                if (window.getId().equalsIgnoreCase(value)) {
+                    return window;
+                }
+            }
+            return null;
+        }
+    }
+
+    String getName();
+
+    PlayerDataManager.PlayerData load(UUID uuid) throws IOException;
+
+    void saveBatch(Collection<PlayerDataManager.PlayerData> batch) throws IOException;
+
+    List<PlayerDataManager.PlayerData> top(Statistic statistic, int limit) throws IOException;
+
+    default Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) throws IOException {
+        final TopRanking ranking = new TopRanking(limit, EnumSet.complementOf(EnumSet.of(Window.LIFETIME)));
+        for (final UUID uuid : this.getStoredIds()) {
+            ranking.offer(this.load(uuid));
+        }
+        final Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> result = ranking.result();
+        final Map<Statistic, List<PlayerDataManager.PlayerData>> lifetime = new EnumMap<>(Statistic.class);
+        for (final Statistic statistic : Statistic.values()) {
+            lifetime.put(statistic, this.top(statistic, limit));
+        }
+        result.put(Window.LIFETIME, lifetime);
+        return result;
+    }
+
+    void delete(UUID uuid) throws IOException;
+
+    Collection<UUID> getStoredIds() throws IOException;
+
+    default boolean attach(final Player player, final PlayerDataManager.PlayerData data) {
+        return false;
+    }
+
+    default void detach(final Player player, final PlayerDataManager.PlayerData data) {
+    }
+
+    void close();
+}
@@ -0,0 +1,194 @@
+package com.blaxk.spawnelytra.data;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class SqlitePlayerDataStore implements PlayerDataStore {
+    private static final String UPSERT = "INSERT INTO player_data (uuid, fly_count, boost_count, windows) VALUES (?, ?, ?, ?) "
+            + "ON CONFLICT(uuid) DO UPDATE SET fly_count = excluded.fly_count, boost_count = excluded.boost_count, "
+            + "windows = excluded.windows";
+
+    private final Connection connection;
+
+    public SqlitePlayerDataStore(final File databaseFile) throws IOException {
+        try {
+            Class.forName("org.sqlite.JDBC");
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+            try (final Statement statement = this.connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS player_data ("
+                        + "uuid TEXT PRIMARY KEY NOT NULL, "
+                        + "fly_count INTEGER NOT NULL DEFAULT 0, "
+                        + "boost_count INTEGER NOT NULL DEFAULT 0)");
+                if (!this.hasColumn(statement, "windows")) {
+                    statement.execute("ALTER TABLE player_data ADD COLUMN windows BLOB");
+                }
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_data_fly ON player_data (fly_count DESC)");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_data_boost ON player_data (boost_count DESC)");
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_data_total ON player_data ((fly_count + boost_count) DESC)");
+            }
+        } catch (final ClassNotFoundException | SQLException e) {
+            throw new IOException("Could not open " + databaseFile.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private boolean hasColumn(final Statement statement, final String column) throws SQLException {
+        try (final ResultSet columns = statement.executeQuery("PRAGMA table_info(player_data)")) {
+            while (columns.next()) {
+                if (column.equalsIgnoreCase(columns.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static PlayerDataManager.PlayerData read(final UUID uuid, final ResultSet row, final int firstColumn) throws SQLException {
+        final byte[] windows = row.getBytes(firstColumn + 2);
+        return new PlayerDataManager.PlayerData(uuid, row.getInt(firstColumn), row.getInt(firstColumn + 1),
+                windows != null ? DayBuckets.fromBytes(windows) : new DayBuckets());
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    @Override
+    public synchronized PlayerDataManager.PlayerData load(final UUID uuid) throws IOException {
+        try (final PreparedStatement statement = this.connection.prepareStatement(
+                "SELECT fly_count, boost_count, windows FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
+            try (final ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    return SqlitePlayerDataStore.read(uuid, result, 1);
+                }
+                return new PlayerDataManager.PlayerData(uuid, 0, 0);
+            }
+        } catch (final SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void saveBatch(final Collection<PlayerDataManager.PlayerData> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            this.connection.setAutoCommit(false);
+            try (final PreparedStatement statement = this.connection.prepareStatement(UPSERT)) {
+                for (final PlayerDataManager.PlayerData data : batch) {
+                    statement.setString(1, data.getUuid().toString());
+                    statement.setInt(2, data.getFlyCount());
+                    statement.setInt(3, data.getBoostCount());
+                    if (data.getWindows().isEmpty()) {
+                        statement.setNull(4, Types.BLOB);
+                    } else {
+                        statement.setBytes(4, data.getWindows().toBytes());
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                this.connection.commit();
+            } catch (final SQLException e) {
+                this.connection.rollback();
+                throw e;
+            } finally {
+                this.connection.setAutoCommit(true);
+            }
+        } catch (final SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized List<PlayerDataManager.PlayerData> top(final Statistic statistic, final int limit) throws IOException {
+        final String column = switch (statistic) {
+            case FLY_COUNT -> "fly_count";
+            case BOOST_COUNT -> "boost_count";
+            case TOTAL -> "fly_count + boost_count";
+        };
+        try (final PreparedStatement statement = this.connection.prepareStatement(
+                "SELECT uuid, fly_count, boost_count, windows FROM player_data ORDER BY " + column + " DESC LIMIT ?")) {
+            statement.setInt(1, limit);
+            final List<PlayerDataManager.PlayerData> result = new ArrayList<>(limit);
+            try (final ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    result.add(SqlitePlayerDataStore.read(UUID.fromString(rows.getString(1)), rows, 2));
+                }
+            }
+            return result;
+        } catch (final SQLException | IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) throws IOException {
+        final TopRanking ranking = new TopRanking(limit, EnumSet.complementOf(EnumSet.of(Window.LIFETIME)));
+        try (final Statement statement = this.connection.createStatement();
+             final ResultSet rows = statement.executeQuery(
+                     "SELECT uuid, fly_count, boost_count, windows FROM player_data WHERE windows IS NOT NULL")) {
+            while (rows.next()) {
+                ranking.offer(SqlitePlayerDataStore.read(UUID.fromString(rows.getString(1)), rows, 2));
+            }
+        } catch (final SQLException | IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        final Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> result = ranking.result();
+        final Map<Statistic, List<PlayerDataManager.PlayerData>> lifetime = new EnumMap<>(Statistic.class);
+        for (final Statistic statistic : Statistic.values()) {
+            lifetime.put(statistic, this.top(statistic, limit));
+        }
+        result.put(Window.LIFETIME, lifetime);
+        return result;
+    }
+
+    @Override
+    public synchronized void delete(final UUID uuid) throws IOException {
+        try (final PreparedStatement statement = this.connection.prepareStatement("DELETE FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
+            statement.executeUpdate();
+        } catch (final SQLException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized Collection<UUID> getStoredIds() throws IOException {
+        final List<UUID> ids = new ArrayList<>();
+        try (final Statement statement = this.connection.createStatement();
+             final ResultSet rows = statement.executeQuery("SELECT uuid FROM player_data")) {
+            while (rows.next()) {
+                ids.add(UUID.fromString(rows.getString(1)));
+            }
+        } catch (final SQLException | IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        return ids;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            this.connection.close();
+        } catch (final SQLException ignored) {
+        }
+    }
+}
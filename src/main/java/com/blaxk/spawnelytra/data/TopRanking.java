@@ -0,0 +1,80 @@
+package com.blaxk.spawnelytra.data;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+final class TopRanking {
+    private static final Comparator<Ranked> ORDER = Comparator.comparingInt(ranked -> ranked.value);
+
+    private static final class Ranked {
+        final PlayerDataManager.PlayerData data;
+        final int value;
+
+        Ranked(final PlayerDataManager.PlayerData data, final int value) {
+            this.data = data;
+            this.value = value;
+        }
+    }
+
+    private final int limit;
+    private final Map<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, PriorityQueue<Ranked>>> best =
+            new EnumMap<>(PlayerDataStore.Window.class);
+
+    TopRanking(final int limit, final Set<PlayerDataStore.Window> windows) {
+        this.limit = Math.max(0, limit);
+        for (final PlayerDataStore.Window window : windows) {
+            final Map<PlayerDataStore.Statistic, PriorityQueue<Ranked>> byStatistic = new EnumMap<>(PlayerDataStore.Statistic.class);
+            for (final PlayerDataStore.Statistic statistic : PlayerDataStore.Statistic.values()) {
+                byStatistic.put(statistic, new PriorityQueue<>(ORDER));
+            }
+            this.best.put(window, byStatistic);
+        }
+    }
+
+    void offer(final PlayerDataManager.PlayerData data) {
+        if (this.limit == 0) {
+            return;
+        }
+        for (final Map.Entry<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, PriorityQueue<Ranked>>> byWindow : this.best.entrySet()) {
+            final PlayerDataStore.Window window = byWindow.getKey();
+            for (final Map.Entry<PlayerDataStore.Statistic, PriorityQueue<Ranked>> entry : byWindow.getValue().entrySet()) {
+                final int value = data.get(entry.getKey(), window);
+                if (PlayerDataStore.Window.LIFETIME != window && value <= 0) {
+                    continue;
+                }
+                final PriorityQueue<Ranked> queue = entry.getValue();
+                if (queue.size() >= this.limit && value <= queue.peek().value) {
+                    continue;
+                }
+                queue.add(new Ranked(data, value));
+                if (queue.size() > this.limit) {
+                    queue.poll();
+                }
+            }
+        }
+    }
+
+    Map<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, List<PlayerDataManager.PlayerData>>> result() {
+        final Map<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, List<PlayerDataManager.PlayerData>>> result =
+                new EnumMap<>(PlayerDataStore.Window.class);
+        for (final Map.Entry<PlayerDataStore.Window, Map<PlayerDataStore.Statistic, PriorityQueue<Ranked>>> byWindow : this.best.entrySet()) {
+            final Map<PlayerDataStore.Statistic, List<PlayerDataManager.PlayerData>> byStatistic = new EnumMap<>(PlayerDataStore.Statistic.class);
+            for (final Map.Entry<PlayerDataStore.Statistic, PriorityQueue<Ranked>> entry : byWindow.getValue().entrySet()) {
+                final List<Ranked> ranked = new ArrayList<>(entry.getValue());
+                ranked.sort(ORDER.reversed());
+                final List<PlayerDataManager.PlayerData> players = new ArrayList<>(ranked.size());
+                for (final Ranked candidate : ranked) {
+                    players.add(candidate.data);
+                }
+                byStatistic.put(entry.getKey(), players);
+            }
+            result.put(byWindow.getKey(), byStatistic);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,400 @@
+package com.blaxk.spawnelytra.data;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+public class YamlPlayerDataStore implements PlayerDataStore {
+    private static final String EXTENSION = ".yml";
+    private static final String TEMP_EXTENSION = ".yml.tmp";
+    private static final String CORRUPT_EXTENSION = ".yml.corrupt";
+    private static final int LOCK_STRIPES = 64;
+
+    private final File dataFolder;
+    private final Logger logger;
+    private final boolean sharded;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private volatile ExecutorService shardMigration;
+
+    public YamlPlayerDataStore(final File dataFolder, final Logger logger) {
+        this(dataFolder, logger, false);
+    }
+
+    public YamlPlayerDataStore(final File dataFolder, final Logger logger, final boolean sharded) {
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+        this.sharded = sharded;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new Object();
+        }
+        if (!this.dataFolder.exists()) {
+            this.dataFolder.mkdirs();
+        }
+        this.recoverTempFiles();
+    }
+
+    private Object lockFor(final UUID uuid) {
+        return this.locks[(uuid.hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES];
+    }
+
+    private List<Path> listFolders() {
+        final List<Path> folders = new ArrayList<>();
+        folders.add(this.dataFolder.toPath());
+        final File[] outer = this.dataFolder.listFiles(File::isDirectory);
+        if (outer == null) {
+            return folders;
+        }
+        for (final File first : outer) {
+            final File[] inner = first.listFiles(File::isDirectory);
+            if (inner != null) {
+                for (final File second : inner) {
+                    folders.add(second.toPath());
+                }
+            }
+        }
+        return folders;
+    }
+
+    private static List<Path> list(final Path folder, final String suffix) {
+        final List<Path> files = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*" + suffix)) {
+            for (final Path path : stream) {
+                files.add(path);
+            }
+        } catch (final IOException ignored) {
+        }
+        return files;
+    }
+
+    private void recoverTempFiles() {
+        int recovered = 0;
+        int discarded = 0;
+        final List<Path> temps = new ArrayList<>();
+        for (final Path folder : this.listFolders()) {
+            temps.addAll(YamlPlayerDataStore.list(folder, TEMP_EXTENSION));
+        }
+        for (final Path temp : temps) {
+            final String name = temp.getFileName().toString();
+            final Path target = temp.resolveSibling(name.substring(0, name.length() - TEMP_EXTENSION.length()) + EXTENSION);
+            try {
+                if (YamlPlayerDataStore.parse(temp) != null && YamlPlayerDataStore.parse(target) == null) {
+                    Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    recovered++;
+                } else {
+                    Files.delete(temp);
+                    discarded++;
+                }
+            } catch (final IOException e) {
+                this.logger.warning("Failed to recover player data temp file " + name + ": " + e.getMessage());
+            }
+        }
+        if (recovered > 0 || discarded > 0) {
+            this.logger.info("Recovered " + recovered + " and discarded " + discarded + " leftover player data temp file(s)");
+        }
+    }
+
+    static PlayerDataManager.PlayerData read(final UUID uuid, final Path path) {
+        final FileConfiguration config = YamlPlayerDataStore.parse(path);
+        return config == null ? null : YamlPlayerDataStore.toPlayerData(uuid, config);
+    }
+
+    private static PlayerDataManager.PlayerData toPlayerData(final UUID uuid, final FileConfiguration config) {
+        final String windows = config.getString("windows");
+        DayBuckets buckets = new DayBuckets();
+        if (windows != null) {
+            try {
+                buckets = DayBuckets.fromBytes(Base64.getDecoder().decode(windows));
+            } catch (final IllegalArgumentException ignored) {
+            }
+        }
+        return new PlayerDataManager.PlayerData(uuid, config.getInt("fly_count", 0), config.getInt("boost_count", 0), buckets);
+    }
+
+    private static FileConfiguration parse(final Path path) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try {
+            final YamlConfiguration config = new YamlConfiguration();
+            config.loadFromString(Files.readString(path, StandardCharsets.UTF_8));
+            return config.contains("fly_count") ? config : null;
+        } catch (final IOException | InvalidConfigurationException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "yaml";
+    }
+
+    @Override
+    public PlayerDataManager.PlayerData load(final UUID uuid) throws IOException {
+        final FileConfiguration config;
+        synchronized (this.lockFor(uuid)) {
+            final Path file = this.existingFile(uuid);
+            if (file == null) {
+                return new PlayerDataManager.PlayerData(uuid, 0, 0);
+            }
+            config = YamlPlayerDataStore.parse(file);
+            if (config == null) {
+                final Path backup = file.resolveSibling(uuid + CORRUPT_EXTENSION);
+                Files.move(file, backup, StandardCopyOption.REPLACE_EXISTING);
+                throw new IOException(file.getFileName() + " is unreadable, moved it to " + backup.getFileName());
+            }
+        }
+        return YamlPlayerDataStore.toPlayerData(uuid, config);
+    }
+
+    @Override
+    public void saveBatch(final Collection<PlayerDataManager.PlayerData> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<Path> written = new ArrayList<>(batch.size());
+        final List<FileChannel> pending = new ArrayList<>(batch.size());
+        final Set<Path> folders = new LinkedHashSet<>();
+        try {
+            for (final PlayerDataManager.PlayerData data : batch) {
+                final FileConfiguration config = new YamlConfiguration();
+                config.set("fly_count", data.getFlyCount());
+                config.set("boost_count", data.getBoostCount());
+                if (!data.getWindows().isEmpty()) {
+                    config.set("windows", Base64.getEncoder().encodeToString(data.getWindows().toBytes()));
+                }
+
+                final Path folder = this.folderFor(data.getUuid(), this.sharded);
+                if (!Files.isDirectory(folder)) {
+                    Files.createDirectories(folder);
+                    for (Path created = folder.getParent(); created != null && created.startsWith(this.dataFolder.toPath());
+                         created = created.getParent()) {
+                        folders.add(created);
+                    }
+                }
+                final Path temp = folder.resolve(data.getUuid() + TEMP_EXTENSION);
+                final FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                pending.add(channel);
+                written.add(temp);
+                final ByteBuffer bytes = ByteBuffer.wrap(config.saveToString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+            for (final FileChannel channel : pending) {
+                channel.force(false);
+            }
+        } catch (final IOException e) {
+            YamlPlayerDataStore.closeAll(pending);
+            for (final Path temp : written) {
+                Files.deleteIfExists(temp);
+            }
+            throw e;
+        }
+        YamlPlayerDataStore.closeAll(pending);
+
+        for (final PlayerDataManager.PlayerData data : batch) {
+            final UUID uuid = data.getUuid();
+            final Path folder = this.folderFor(uuid, this.sharded);
+            synchronized (this.lockFor(uuid)) {
+                Files.move(folder.resolve(uuid + TEMP_EXTENSION), folder.resolve(uuid + EXTENSION),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Files.deleteIfExists(this.folderFor(uuid, !this.sharded).resolve(uuid + EXTENSION));
+            }
+            folders.add(folder);
+        }
+        for (final Path folder : folders) {
+            YamlPlayerDataStore.syncDirectory(folder);
+        }
+    }
+
+    public void startShardMigration(final int threads) {
+        if (!this.sharded || this.shardMigration != null) {
+            return;
+        }
+        final List<Path> flat = YamlPlayerDataStore.list(this.dataFolder.toPath(), EXTENSION);
+        if (flat.isEmpty()) {
+            return;
+        }
+        final int workers = Math.max(1, threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            final Thread thread = new Thread(runnable, "SpawnElytra-ShardMigration");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.shardMigration = executor;
+        this.logger.info("Moving " + flat.size() + " player data file(s) into the sharded layout in the background...");
+
+        final AtomicInteger moved = new AtomicInteger();
+        final AtomicInteger remaining = new AtomicInteger(workers);
+        final int slice = (flat.size() + workers - 1) / workers;
+        for (int worker = 0; worker < workers; worker++) {
+            final List<Path> part = flat.subList(Math.min(flat.size(), worker * slice), Math.min(flat.size(), (worker + 1) * slice));
+            executor.execute(() -> {
+                for (final Path file : part) {
+                    if (executor.isShutdown()) {
+                        break;
+                    }
+                    if (this.moveToShard(file)) {
+                        moved.incrementAndGet();
+                    }
+                }
+                if (remaining.decrementAndGet() == 0) {
+                    this.logger.info("Moved " + moved.get() + " player data file(s) into the sharded layout");
+                    executor.shutdown();
+                }
+            });
+        }
+    }
+
+    private boolean moveToShard(final Path file) {
+        final String name = file.getFileName().toString();
+        final UUID uuid;
+        try {
+            uuid = UUID.fromString(name.substring(0, name.length() - EXTENSION.length()));
+        } catch (final IllegalArgumentException e) {
+            return false;
+        }
+        synchronized (this.lockFor(uuid)) {
+            try {
+                final Path folder = this.folderFor(uuid, true);
+                final Path target = folder.resolve(name);
+                if (Files.exists(target)) {
+                    Files.deleteIfExists(file);
+                    return false;
+                }
+                Files.createDirectories(folder);
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                return true;
+            } catch (final IOException e) {
+                this.logger.warning("Failed to move " + name + " into the sharded layout: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    public boolean isShardMigrationRunning() {
+        final ExecutorService executor = this.shardMigration;
+        return executor != null && !executor.isTerminated();
+    }
+
+    private static void closeAll(final List<FileChannel> channels) {
+        for (final FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    private static void syncDirectory(final Path folder) {
+        try (final FileChannel directory = FileChannel.open(folder, StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (final IOException ignored) {
+        }
+    }
+
+    @Override
+    public List<PlayerDataManager.PlayerData> top(final Statistic statistic, final int limit) {
+        return this.rank(limit, EnumSet.of(Window.LIFETIME)).get(Window.LIFETIME).get(statistic);
+    }
+
+    @Override
+    public Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> topAll(final int limit) {
+        return this.rank(limit, EnumSet.allOf(Window.class));
+    }
+
+    private Map<Window, Map<Statistic, List<PlayerDataManager.PlayerData>>> rank(final int limit, final Set<Window> windows) {
+        final TopRanking ranking = new TopRanking(limit, windows);
+        for (final UUID uuid : this.getStoredIds()) {
+            final Path file = this.existingFile(uuid);
+            final FileConfiguration config = file != null ? YamlPlayerDataStore.parse(file) : null;
+            if (config != null) {
+                ranking.offer(YamlPlayerDataStore.toPlayerData(uuid, config));
+            }
+        }
+        return ranking.result();
+    }
+
+    @Override
+    public void delete(final UUID uuid) throws IOException {
+        synchronized (this.lockFor(uuid)) {
+            Files.deleteIfExists(this.folderFor(uuid, true).resolve(uuid + EXTENSION));
+            Files.deleteIfExists(this.folderFor(uuid, false).resolve(uuid + EXTENSION));
+        }
+    }
+
+    @Override
+    public Collection<UUID> getStoredIds() {
+        final Set<UUID> ids = new LinkedHashSet<>();
+        for (final Path folder : this.listFolders()) {
+            for (final Path file : YamlPlayerDataStore.list(folder, EXTENSION)) {
+                final String name = file.getFileName().toString();
+                try {
+                    ids.add(UUID.fromString(name.substring(0, name.length() - EXTENSION.length())));
+                } catch (final IllegalArgumentException ignored) {
+                }
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        final ExecutorService executor = this.shardMigration;
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5L, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Path folderFor(final UUID uuid, final boolean shardedLayout) {
+        if (!shardedLayout) {
+            return this.dataFolder.toPath();
+        }
+        final String id = uuid.toString();
+        return this.dataFolder.toPath().resolve(id.substring(0, 2)).resolve(id.substring(2, 4));
+    }
+
+    boolean exists(final UUID uuid) {
+        return this.existingFile(uuid) != null;
+    }
+
+    private Path existingFile(final UUID uuid) {
+        final Path primary = this.folderFor(uuid, this.sharded).resolve(uuid + EXTENSION);
+        if (Files.exists(primary)) {
+            return primary;
+        }
+        final Path secondary = this.folderFor(uuid, !this.sharded).resolve(uuid + EXTENSION);
+        return Files.exists(secondary) ? secondary : null;
+    }
+}
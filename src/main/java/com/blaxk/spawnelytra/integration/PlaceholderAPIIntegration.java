@@ -1,9 +1,11 @@
 package com.blaxk.spawnelytra.integration;
 
 import com.blaxk.spawnelytra.Main;
+import com.blaxk.spawnelytra.data.Leaderboard;
 import com.blaxk.spawnelytra.data.PlayerDataManager;
+import com.blaxk.spawnelytra.data.PlayerDataStore;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
-import org.bukkit.entity.Player;
+import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
 public class PlaceholderAPIIntegration extends PlaceholderExpansion {
@@ -41,11 +43,30 @@ public class PlaceholderAPIIntegration extends PlaceholderExpansion {
     }
 
     @Override
-    public String onPlaceholderRequest(final Player player, @NotNull final String identifier) {
+    public String onRequest(final OfflinePlayer player, @NotNull final String identifier) {
+        if (identifier.startsWith("top_")) {
+            return this.topPlaceholder(identifier);
+        }
+
         if (player == null) {
             return "";
         }
 
+        final int windowSeparator = identifier.lastIndexOf('_');
+        final PlayerDataStore.Window window = windowSeparator > 0
+                ? PlayerDataStore.Window.fromString(identifier.substring(windowSeparator + 1)) : null;
+        if (window != null) {
+            final PlayerDataStore.Statistic statistic = switch (identifier.substring(0, windowSeparator)) {
+                case "fly_count" -> PlayerDataStore.Statistic.FLY_COUNT;
+                case "boost_count" -> PlayerDataStore.Statistic.BOOST_COUNT;
+                case "total_count" -> PlayerDataStore.Statistic.TOTAL;
+                default -> null;
+            };
+            return statistic != null
+                    ? String.valueOf(this.playerDataManager.getPlayerData(player.getUniqueId()).get(statistic, window))
+                    : null;
+        }
+
         if ("fly_count".equals(identifier)) {
             return String.valueOf(this.playerDataManager.getPlayerData(player.getUniqueId()).getFlyCount());
         }
@@ -61,4 +82,41 @@ public class PlaceholderAPIIntegration extends PlaceholderExpansion {
 
         return null;
     }
+
+    private String topPlaceholder(final String identifier) {
+        final String[] parts = identifier.split("_");
+        if (parts.length != 4 && parts.length != 5) {
+            return null;
+        }
+        final PlayerDataStore.Window window = parts.length == 5
+                ? PlayerDataStore.Window.fromString(parts[2]) : PlayerDataStore.Window.LIFETIME;
+        if (window == null) {
+            return null;
+        }
+        final PlayerDataStore.Statistic statistic = switch (parts[1]) {
+            case "fly" -> PlayerDataStore.Statistic.FLY_COUNT;
+            case "boost" -> PlayerDataStore.Statistic.BOOST_COUNT;
+            case "total" -> PlayerDataStore.Statistic.TOTAL;
+            default -> null;
+        };
+        if (statistic == null) {
+            return null;
+        }
+        final int rank;
+        try {
+            rank = Integer.parseInt(parts[parts.length - 2]);
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+
+        final Leaderboard.Entry entry = this.playerDataManager.getLeaderboard().get(statistic, window, rank);
+        final String field = parts[parts.length - 1];
+        if ("name".equals(field)) {
+            return entry != null ? entry.getName() : "";
+        }
+        if ("value".equals(field)) {
+            return entry != null ? String.valueOf(entry.getValue()) : "0";
+        }
+        return null;
+    }
 }
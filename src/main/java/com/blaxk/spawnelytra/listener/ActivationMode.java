@@ -0,0 +1,82 @@
+package com.blaxk.spawnelytra.listener;
+
+import java.util.Locale;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.event.player.PlayerToggleFlightEvent;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+
+import com.blaxk.spawnelytra.zone.SpawnZone;
+
+public enum ActivationMode {
+    DOUBLE_JUMP("double_jump", PlayerToggleFlightEvent.class) {
+        @Override
+        void onDoubleJump(final SpawnElytra handler, final Player player, final SpawnZone zone) {
+            handler.activateElytraFlight(player, zone);
+        }
+    },
+    AUTO("auto", PlayerMoveEvent.class) {
+        @Override
+        void onMove(final SpawnElytra handler, final Player player, final SpawnZone zone, final Location to) {
+            handler.tryAutoActivation(player, zone, to);
+        }
+    },
+    SNEAK_JUMP("sneak_jump", PlayerToggleSneakEvent.class) {
+        @Override
+        void onSneak(final SpawnElytra handler, final PlayerToggleSneakEvent event, final SpawnZone zone) {
+            handler.handleSneakJump(event, zone);
+        }
+    },
+    F_KEY("f_key", PlayerSwapHandItemsEvent.class) {
+        @Override
+        boolean onSwapHands(final SpawnElytra handler, final PlayerSwapHandItemsEvent event, final SpawnZone zone) {
+            return handler.handleFKeyLaunch(event, zone);
+        }
+    };
+
+    private final String id;
+    private final Class<? extends Event> trigger;
+
+    ActivationMode(final String id, final Class<? extends Event> trigger) {
+        this.id = id;
+        this.trigger = trigger;
+    }
+
+    void onDoubleJump(final SpawnElytra handler, final Player player, final SpawnZone zone) {
+    }
+
+    void onMove(final SpawnElytra handler, final Player player, final SpawnZone zone, final Location to) {
+    }
+
+    void onSneak(final SpawnElytra handler, final PlayerToggleSneakEvent event, final SpawnZone zone) {
+    }
+
+    boolean onSwapHands(final SpawnElytra handler, final PlayerSwapHandItemsEvent event, final SpawnZone zone) {
+        return false;
+    }
+
+    public String getId() {
+        return this.id;
+    }
+
+    public Class<? extends Event> getTrigger() {
+        return this.trigger;
+    }
+
+    public static ActivationMode fromString(final String value, final ActivationMode fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        final String normalized = value.toLowerCase(Locale.ROOT);
+        for (final ActivationMode mode : ActivationMode.values()) {
+            if (mode.id.equals(normalized)) {
+                return mode;
+            }
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,67 @@
+package com.blaxk.spawnelytra.listener;
+
+import java.util.UUID;
+
+import org.bukkit.Location;
+
+import com.blaxk.spawnelytra.util.SchedulerUtil;
+import com.blaxk.spawnelytra.zone.SpawnZone;
+
+public class FlightSession {
+    private final UUID playerId;
+    private final PermissionSnapshot permissions = new PermissionSnapshot();
+
+    volatile boolean flying;
+    boolean boosted;
+    SpawnZone flightZone;
+    SpawnZone areaZone;
+
+    boolean hungerTracked;
+    double hungerProgress;
+    long hungerLastConsumption;
+    double hungerLastX, hungerLastY, hungerLastZ;
+
+    boolean sneakPressed;
+    long lastSneakActivation;
+
+    SchedulerUtil.TaskHandle visualizationTask;
+
+    FlightSession(final UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    public UUID getPlayerId() {
+        return this.playerId;
+    }
+
+    public PermissionSnapshot getPermissions() {
+        return this.permissions;
+    }
+
+    public boolean isFlying() {
+        return this.flying;
+    }
+
+    public SpawnZone getAreaZone() {
+        return this.areaZone;
+    }
+
+    void moveHungerTo(final Location location) {
+        this.hungerLastX = location.getX();
+        this.hungerLastY = location.getY();
+        this.hungerLastZ = location.getZ();
+    }
+
+    void resetHunger() {
+        this.hungerTracked = false;
+        this.hungerProgress = 0.0;
+    }
+
+    void cancelVisualization() {
+        final SchedulerUtil.TaskHandle task = this.visualizationTask;
+        this.visualizationTask = null;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.blaxk.spawnelytra.listener;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.entity.Player;
+
+public class FlightSessionManager {
+    private final ConcurrentHashMap<UUID, FlightSession> sessions = new ConcurrentHashMap<>();
+    private volatile long permissionCacheMillis = 5000L;
+
+    public FlightSession get(final UUID playerId) {
+        return this.sessions.get(playerId);
+    }
+
+    public FlightSession getOrCreate(final UUID playerId) {
+        return this.sessions.computeIfAbsent(playerId, FlightSession::new);
+    }
+
+    public FlightSession end(final UUID playerId) {
+        final FlightSession session = this.sessions.remove(playerId);
+        if (session != null) {
+            session.cancelVisualization();
+        }
+        return session;
+    }
+
+    public void clear() {
+        for (final FlightSession session : this.sessions.values()) {
+            session.cancelVisualization();
+        }
+        this.sessions.clear();
+    }
+
+    public void setPermissionCacheMillis(final long permissionCacheMillis) {
+        this.permissionCacheMillis = Math.max(0L, permissionCacheMillis);
+    }
+
+    public long getPermissionCacheMillis() {
+        return this.permissionCacheMillis;
+    }
+
+    public boolean hasPermission(final Player player, final String node) {
+        final FlightSession session = this.sessions.get(player.getUniqueId());
+        if (session == null) {
+            return player.hasPermission(node);
+        }
+        return session.getPermissions().has(player, node, this.permissionCacheMillis);
+    }
+
+    public void refreshPermissions(final Player player) {
+        this.getOrCreate(player.getUniqueId()).getPermissions().refresh(player, this.permissionCacheMillis);
+    }
+
+    public int getSessionCount() {
+        return this.sessions.size();
+    }
+
+    public int getFlyingCount() {
+        int count = 0;
+        for (final FlightSession session : this.sessions.values()) {
+            if (session.flying) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
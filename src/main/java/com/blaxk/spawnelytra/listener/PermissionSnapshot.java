@@ -0,0 +1,45 @@
+package com.blaxk.spawnelytra.listener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bukkit.entity.Player;
+
+public class PermissionSnapshot {
+    public static final String USE = "spawnelytra.use";
+    public static final String USE_BOOST = "spawnelytra.useboost";
+
+    private final Map<String, Boolean> nodes = new ConcurrentHashMap<>();
+    private volatile long expiresAt;
+
+    public boolean has(final Player player, final String node, final long ttlMillis) {
+        if (ttlMillis <= 0) {
+            return player.hasPermission(node);
+        }
+        final long now = System.currentTimeMillis();
+        if (now >= this.expiresAt) {
+            this.nodes.clear();
+            this.expiresAt = now + ttlMillis;
+        }
+        Boolean cached = this.nodes.get(node);
+        if (cached == null) {
+            cached = player.hasPermission(node);
+            this.nodes.put(node, cached);
+        }
+        return cached;
+    }
+
+    public void refresh(final Player player, final long ttlMillis) {
+        this.invalidate();
+        this.has(player, USE, ttlMillis);
+        this.has(player, USE_BOOST, ttlMillis);
+    }
+
+    public void invalidate() {
+        this.expiresAt = 0L;
+    }
+
+    public int size() {
+        return this.nodes.size();
+    }
+}
@@ -1,11 +1,11 @@
 package com.blaxk.spawnelytra.listener;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Color;
@@ -17,12 +17,8 @@ import org.bukkit.Sound;
 import org.bukkit.World;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.configuration.ConfigurationSection;
-import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
-import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
-import org.bukkit.event.EventHandler;
-import org.bukkit.event.Listener;
+import org.bukkit.event.Event;
 import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityToggleGlideEvent;
 import org.bukkit.event.entity.EntityDamageEvent.DamageCause;
@@ -38,8 +34,11 @@ import com.blaxk.spawnelytra.Main;
 import com.blaxk.spawnelytra.data.PlayerDataManager;
 import com.blaxk.spawnelytra.util.SchedulerUtil;
 import com.blaxk.spawnelytra.util.MessageUtil;
+import com.blaxk.spawnelytra.zone.SpawnZone;
+import com.blaxk.spawnelytra.zone.ZoneIndex;
+import com.blaxk.spawnelytra.zone.ZoneTransitions;
 
-public class SpawnElytra implements Listener {
+public class SpawnElytra {
     private enum HungerMode {
         ACTIVATION,
         DISTANCE,
@@ -57,27 +56,26 @@ public class SpawnElytra implements Listener {
         }
     }
 
+    private static final String DEFAULT_ZONE_NAME = "spawn";
+    private static final ThreadLocal<Location> SCRATCH_LOCATION = ThreadLocal.withInitial(() -> new Location(null, 0, 0, 0));
+
     private final Main plugin;
     private final int multiplyValue;
     private final int spawnRadius;
     private final boolean boostEnabled;
     private final World world;
-    private final List<Player> flying = new ArrayList<>();
-    private final List<Player> boosted = new ArrayList<>();
-    private final Location spawnLocation;
+    private final FlightSessionManager sessions;
+    private final ZoneTransitions transitions;
+    private final double zoneHysteresis;
+    private final ZoneIndex zones;
     private final Sound boostSound;
     private final boolean disableInCreative;
     private final boolean disableInAdventure;
     private final PlayerDataManager playerDataManager;
-    private final String boostDirection;
+    private final boolean upwardBoost;
     private final boolean disableFireworksInSpawnElytra;
     private final double fKeyLaunchStrength;
 
-    private final String activationMode;
-    private final double minX, minY, minZ;
-    private final double maxX, maxY, maxZ;
-    private final boolean useRectangularArea;
-
     private final boolean hungerEnabled;
     private final HungerMode hungerMode;
     private final int hungerActivationCost;
@@ -87,14 +85,6 @@ public class SpawnElytra implements Listener {
     private final int hungerTimeCost;
     private final int hungerMinimumFoodLevel;
 
-    private final Map<UUID, Double> hungerDistanceProgress = new HashMap<>();
-    private final Map<UUID, Long> hungerLastConsumption = new HashMap<>();
-    private final Map<UUID, Location> hungerLastLocation = new HashMap<>();
-
-    private final Map<UUID, Long> sneakJumpCooldown = new HashMap<>();
-    private final Map<UUID, Boolean> sneakPressed = new HashMap<>();
-    private final Map<UUID, SchedulerUtil.TaskHandle> visualizationTasks = new HashMap<>();
-
     private final int visualizationVerticalRange;
     private final int visualizationPillarRange;
     private final int visualizationUpdateFrequency;
@@ -103,6 +93,9 @@ public class SpawnElytra implements Listener {
 
     public SpawnElytra(final Main plugin, final String worldName, final ConfigurationSection worldConfig) {
         this.plugin = plugin;
+        this.sessions = plugin.getFlightSessions();
+        this.transitions = plugin.getZoneTransitions();
+        this.zoneHysteresis = Math.max(0.0D, plugin.getConfig().getDouble("area_border.hysteresis", 1.0D));
         
         multiplyValue = worldConfig.getInt("boost.strength", 2);
         spawnRadius = worldConfig.getInt("radius", 100);
@@ -110,7 +103,7 @@ public class SpawnElytra implements Listener {
         disableInCreative = plugin.getConfig().getBoolean("game_modes.disable_in_creative", true);
         disableInAdventure = plugin.getConfig().getBoolean("game_modes.disable_in_adventure", false);
         playerDataManager = plugin.getPlayerDataManager();
-        boostDirection = worldConfig.getString("boost.direction", "forward").toLowerCase();
+        upwardBoost = "upward".equalsIgnoreCase(worldConfig.getString("boost.direction", "forward"));
         disableFireworksInSpawnElytra = plugin.getConfig().getBoolean("fireworks.disable_in_spawn_elytra", false);
         fKeyLaunchStrength = worldConfig.getDouble("f_key.launch_strength", 1.5);
 
@@ -131,29 +124,18 @@ public class SpawnElytra implements Listener {
         visualizationParticleSize = vizConfig.particleSize;
         visualizationEnhancedParticles = vizConfig.enhancedParticles;
 
-        activationMode = worldConfig.getString("activation_mode", "double_jump").toLowerCase();
         world = Bukkit.getWorld(worldName);
-        final String mode = worldConfig.getString("spawn_area.mode", "auto");
 
         boostSound = loadBoostSound(plugin, worldConfig);
 
         if (this.world == null) {
             plugin.getLogger().severe("Invalid world: " + worldName + ". Available worlds: " +
                 Bukkit.getWorlds().stream().map(w -> w.getName()).reduce((a, b) -> a + ", " + b).orElse("none"));
-            spawnLocation = null;
-            minX = minY = minZ = 0;
-            maxX = maxY = maxZ = 0;
-            useRectangularArea = false;
+            zones = new ZoneIndex(Collections.emptyList());
         } else {
-            final SpawnAreaConfig areaConfig = loadSpawnAreaConfig(worldConfig, mode);
-            spawnLocation = areaConfig.spawnLocation;
-            minX = areaConfig.minX;
-            minY = areaConfig.minY;
-            minZ = areaConfig.minZ;
-            maxX = areaConfig.maxX;
-            maxY = areaConfig.maxY;
-            maxZ = areaConfig.maxZ;
-            useRectangularArea = areaConfig.useRectangular;
+            final ActivationMode activationMode = this.parseActivationMode(
+                    worldConfig.getString("activation_mode", "double_jump"), ActivationMode.DOUBLE_JUMP, "world '" + worldName + "'");
+            zones = new ZoneIndex(this.loadZones(worldName, worldConfig, activationMode));
         }
     }
 
@@ -178,6 +160,7 @@ public class SpawnElytra implements Listener {
 
     private static class SpawnAreaConfig {
         Location spawnLocation;
+        double radius;
         double minX, minY, minZ;
         double maxX, maxY, maxZ;
         boolean useRectangular;
@@ -248,22 +231,81 @@ public class SpawnElytra implements Listener {
         }
     }
 
-    private SpawnAreaConfig loadSpawnAreaConfig(final ConfigurationSection worldConfig, final String mode) {
+    private List<SpawnZone> loadZones(final String worldName, final ConfigurationSection worldConfig, final ActivationMode defaultMode) {
+        final List<SpawnZone> zones = new ArrayList<>();
+        final ConfigurationSection zonesSection = worldConfig.getConfigurationSection("zones");
+        if (zonesSection != null) {
+            for (final String zoneName : zonesSection.getKeys(false)) {
+                final ConfigurationSection zoneSection = zonesSection.getConfigurationSection(zoneName);
+                if (zoneSection == null) {
+                    continue;
+                }
+                final int radius = zoneSection.getInt("radius", this.spawnRadius);
+                if (radius <= 0) {
+                    this.plugin.getLogger().warning("Invalid radius (" + radius + ") for zone '" + zoneName + "' in world '" + worldName + "'. Skipping zone.");
+                    continue;
+                }
+                int boostStrength = zoneSection.getInt("boost.strength", this.multiplyValue);
+                if (boostStrength <= 0) {
+                    this.plugin.getLogger().warning("Invalid boost strength (" + boostStrength + ") for zone '" + zoneName + "' in world '" + worldName + "'. Using world default: " + this.multiplyValue);
+                    boostStrength = this.multiplyValue;
+                }
+                final ActivationMode activationMode = this.parseActivationMode(
+                        zoneSection.getString("activation_mode"), defaultMode, "zone '" + zoneName + "' in world '" + worldName + "'");
+                final SpawnAreaConfig areaConfig = this.loadSpawnAreaConfig(zoneSection, "advanced", radius);
+                zones.add(SpawnElytra.createZone(zoneName, zones.size(), areaConfig, boostStrength, activationMode)
+                        .withPermission(zoneSection.getString("permission")));
+            }
+        }
+
+        final ConfigurationSection areaSection = worldConfig.getConfigurationSection("spawn_area");
+        if (areaSection == null || areaSection.getBoolean("enabled", true)) {
+            final String mode = areaSection != null ? areaSection.getString("mode", "auto") : "auto";
+            final SpawnAreaConfig areaConfig = this.loadSpawnAreaConfig(areaSection, mode, this.spawnRadius);
+            zones.add(SpawnElytra.createZone(DEFAULT_ZONE_NAME, zones.size(), areaConfig, this.multiplyValue, defaultMode));
+        }
+        return zones;
+    }
+
+    private ActivationMode parseActivationMode(final String value, final ActivationMode fallback, final String context) {
+        final ActivationMode mode = ActivationMode.fromString(value, null);
+        if (mode != null) {
+            return mode;
+        }
+        if (value != null) {
+            this.plugin.getLogger().warning("Invalid activation mode '" + value + "' for " + context + ". Using: " + fallback.getId());
+        }
+        return fallback;
+    }
+
+    private static SpawnZone createZone(final String name, final int order, final SpawnAreaConfig area,
+                                        final int boostStrength, final ActivationMode activationMode) {
+        if (area.useRectangular) {
+            return SpawnZone.rectangular(name, order, area.minX, area.minY, area.minZ, area.maxX, area.maxY, area.maxZ,
+                    boostStrength, activationMode);
+        }
+        final Location center = area.spawnLocation;
+        return SpawnZone.circular(name, order, center.getX(), center.getY(), center.getZ(), area.radius,
+                boostStrength, activationMode);
+    }
+
+    private SpawnAreaConfig loadSpawnAreaConfig(final ConfigurationSection areaSection, final String mode, final double radius) {
         final SpawnAreaConfig config = new SpawnAreaConfig();
+        config.radius = radius;
         
-        if ("advanced".equalsIgnoreCase(mode)) {
-            final double spawnX = worldConfig.getDouble("spawn_area.x", this.world.getSpawnLocation().getX());
-            final double spawnY = worldConfig.getDouble("spawn_area.y", this.world.getSpawnLocation().getY());
-            final double spawnZ = worldConfig.getDouble("spawn_area.z", this.world.getSpawnLocation().getZ());
+        if (areaSection != null && "advanced".equalsIgnoreCase(mode)) {
+            final double spawnX = areaSection.getDouble("x", this.world.getSpawnLocation().getX());
+            final double spawnY = areaSection.getDouble("y", this.world.getSpawnLocation().getY());
+            final double spawnZ = areaSection.getDouble("z", this.world.getSpawnLocation().getZ());
 
             config.spawnLocation = new Location(this.world, spawnX, spawnY, spawnZ);
 
-            final double x2 = worldConfig.getDouble("spawn_area.x2", 0);
-            final double y2 = worldConfig.getDouble("spawn_area.y2", 0);
-            final double z2 = worldConfig.getDouble("spawn_area.z2", 0);
+            final double x2 = areaSection.getDouble("x2", 0);
+            final double y2 = areaSection.getDouble("y2", 0);
+            final double z2 = areaSection.getDouble("z2", 0);
 
             final boolean allZero = (x2 == 0 && y2 == 0 && z2 == 0);
-            final String areaType = worldConfig.getString("spawn_area.area_type", "circular");
+            final String areaType = areaSection.getString("area_type", "circular");
 
             if (!allZero && "rectangular".equalsIgnoreCase(areaType)) {
                 config.minX = Math.min(spawnX, x2);
@@ -289,15 +331,32 @@ public class SpawnElytra implements Listener {
     }
 
     public boolean isValid() {
-        return this.world != null && this.spawnLocation != null;
+        return this.world != null && !this.zones.isEmpty();
     }
 
-    @EventHandler
-    public void onPlayerInteract(final PlayerInteractEvent event) {
-        if (!this.isValid()) {
-            return;
+    public World getWorld() {
+        return this.world;
+    }
+
+    public ZoneIndex getZones() {
+        return this.zones;
+    }
+
+    public Set<Class<? extends Event>> getOptionalEvents() {
+        final Set<Class<? extends Event>> events = new HashSet<>();
+        for (final SpawnZone zone : this.zones.getZones()) {
+            events.add(zone.getActivationMode().getTrigger());
         }
-        
+        if (this.boostEnabled) {
+            events.add(PlayerSwapHandItemsEvent.class);
+        }
+        if (this.disableFireworksInSpawnElytra) {
+            events.add(PlayerInteractEvent.class);
+        }
+        return events;
+    }
+
+    public void onPlayerInteract(final PlayerInteractEvent event) {
         if (!this.disableFireworksInSpawnElytra) {
             return;
         }
@@ -305,7 +364,7 @@ public class SpawnElytra implements Listener {
         final Player player = event.getPlayer();
         final ItemStack item = event.getItem();
 
-        if (flying.contains(player) &&
+        if (this.isFlying(player) &&
                 item != null &&
                 Material.FIREWORK_ROCKET == item.getType()) {
 
@@ -316,79 +375,68 @@ public class SpawnElytra implements Listener {
         }
     }
 
-    private void initializeHungerTracking(final Player player) {
+    private void initializeHungerTracking(final Player player, final FlightSession session) {
         if (!this.hungerEnabled) {
             return;
         }
-        final UUID playerId = player.getUniqueId();
+        if (HungerMode.ACTIVATION == hungerMode) {
+            session.resetHunger();
+            return;
+        }
+        session.hungerTracked = true;
         if (HungerMode.DISTANCE == hungerMode) {
-            this.hungerLastLocation.put(playerId, player.getLocation().clone());
-            this.hungerDistanceProgress.put(playerId, 0.0);
-        } else if (HungerMode.TIME == hungerMode) {
-            this.hungerLastConsumption.put(playerId, System.currentTimeMillis());
+            session.moveHungerTo(player.getLocation(SCRATCH_LOCATION.get()));
+            session.hungerProgress = 0.0;
         } else {
-            this.hungerLastConsumption.remove(playerId);
-            this.hungerLastLocation.remove(playerId);
-            this.hungerDistanceProgress.remove(playerId);
+            session.hungerLastConsumption = System.currentTimeMillis();
         }
     }
 
-    private void handleHungerWhileFlying(final Player player) {
-        final UUID playerId = player.getUniqueId();
+    private void handleHungerWhileFlying(final Player player, final FlightSession session, final Location current) {
+        if (!session.hungerTracked) {
+            session.hungerTracked = true;
+            session.hungerProgress = 0.0;
+            session.moveHungerTo(current);
+            session.hungerLastConsumption = System.currentTimeMillis();
+            return;
+        }
+
         if (!this.shouldConsumeHunger(player)) {
             if (HungerMode.DISTANCE == hungerMode) {
-                this.hungerLastLocation.put(playerId, player.getLocation().clone());
-                this.hungerDistanceProgress.put(playerId, 0.0);
-            } else if (HungerMode.TIME == hungerMode) {
-                this.hungerLastConsumption.putIfAbsent(playerId, System.currentTimeMillis());
+                session.moveHungerTo(current);
+                session.hungerProgress = 0.0;
             }
             return;
         }
 
         if (HungerMode.DISTANCE == hungerMode) {
-            final Location current = player.getLocation();
-            final Location last = this.hungerLastLocation.get(playerId);
-            if (last == null) {
-                this.hungerLastLocation.put(playerId, current.clone());
-                this.hungerDistanceProgress.put(playerId, 0.0);
-                return;
-            }
-            final double distance = last.distance(current);
-            if (distance <= 0) {
-                this.hungerLastLocation.put(playerId, current.clone());
+            final double dx = current.getX() - session.hungerLastX;
+            final double dy = current.getY() - session.hungerLastY;
+            final double dz = current.getZ() - session.hungerLastZ;
+            session.moveHungerTo(current);
+            final double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared <= 0) {
                 return;
             }
-            double accumulated = this.hungerDistanceProgress.getOrDefault(playerId, 0.0) + distance;
+            double accumulated = session.hungerProgress + Math.sqrt(distanceSquared);
             final double threshold = hungerDistanceBlocksPerPoint <= 0 ? 1.0D : this.hungerDistanceBlocksPerPoint;
             if (accumulated >= threshold && hungerDistanceCost > 0) {
                 final int steps = (int) (accumulated / threshold);
                 this.consumeHunger(player, this.hungerDistanceCost * steps);
                 accumulated -= threshold * steps;
             }
-            this.hungerDistanceProgress.put(playerId, accumulated);
-            this.hungerLastLocation.put(playerId, current.clone());
+            session.hungerProgress = accumulated;
         } else if (HungerMode.TIME == hungerMode) {
             final long now = System.currentTimeMillis();
-            final long last = this.hungerLastConsumption.getOrDefault(playerId, now);
-            if (now - last >= this.hungerTimeIntervalMillis) {
+            if (now - session.hungerLastConsumption >= this.hungerTimeIntervalMillis) {
                 if (hungerTimeCost > 0) {
                     this.consumeHunger(player, this.hungerTimeCost);
                 }
-                this.hungerLastConsumption.put(playerId, now);
+                session.hungerLastConsumption = now;
             }
         }
     }
 
-    private void resetHungerTracking(final Player player) {
-        if (!this.hungerEnabled) {
-            return;
-        }
-        final UUID playerId = player.getUniqueId();
-        this.hungerDistanceProgress.remove(playerId);
-        this.hungerLastConsumption.remove(playerId);
-        this.hungerLastLocation.remove(playerId);
-    }
-
     private boolean shouldConsumeHunger(final Player player) {
         if (!this.hungerEnabled) {
             return false;
@@ -418,20 +466,28 @@ public class SpawnElytra implements Listener {
     }
 
     public void visualizeArea(final Player player) {
-        this.visualizeArea(player, 30);
+        this.visualizeArea(player, null, 30);
     }
 
     public void visualizeArea(final Player player, final int seconds) {
-        if (this.world == null || this.spawnLocation == null) {
+        this.visualizeArea(player, null, seconds);
+    }
+
+    public void visualizeArea(final Player player, final String zoneName, final int seconds) {
+        if (this.world == null || this.zones.isEmpty()) {
             MessageUtil.send(player, "visualize_no_area");
             return;
         }
 
-        final SchedulerUtil.TaskHandle existingTask = this.visualizationTasks.remove(player.getUniqueId());
-        if (existingTask != null) {
-            existingTask.cancel();
+        final SpawnZone zone = zoneName != null ? this.zones.getZone(zoneName) : this.nearestZone(player);
+        if (zone == null) {
+            MessageUtil.send(player, "visualize_unknown_zone", Placeholder.unparsed("zone", zoneName));
+            return;
         }
 
+        final FlightSession session = this.sessions.getOrCreate(player.getUniqueId());
+        session.cancelVisualization();
+
         MessageUtil.send(player, "visualize_start", Placeholder.unparsed("seconds", String.valueOf(seconds)));
 
         final SchedulerUtil.TaskHandle task = SchedulerUtil.runAtEntityTimer(this.plugin, player, 0L, 1L, new Runnable() {
@@ -441,10 +497,7 @@ public class SpawnElytra implements Listener {
             @Override
             public void run() {
                 if (this.ticksElapsed >= this.maxTicks || !player.isOnline()) {
-                    final SchedulerUtil.TaskHandle handle = SpawnElytra.this.visualizationTasks.remove(player.getUniqueId());
-                    if (handle != null) {
-                        handle.cancel();
-                    }
+                    session.cancelVisualization();
                     if (player.isOnline()) {
                         MessageUtil.send(player, "visualize_end");
                     }
@@ -452,27 +505,48 @@ public class SpawnElytra implements Listener {
                 }
 
                 if (ticksElapsed == 0 % visualizationUpdateFrequency) {
-                    SpawnElytra.this.showAreaParticles(player);
+                    SpawnElytra.this.showAreaParticles(player, zone);
                 }
 
                 this.ticksElapsed++;
             }
         });
 
-        this.visualizationTasks.put(player.getUniqueId(), task);
+        session.visualizationTask = task;
     }
 
-    private void showAreaParticles(final Player player) {
-        if (this.useRectangularArea) {
-            this.showRectangularAreaParticles(player);
+    private SpawnZone nearestZone(final Player player) {
+        final Location loc = player.getLocation(SCRATCH_LOCATION.get());
+        final SpawnZone containing = this.zoneAt(loc);
+        if (containing != null) {
+            return containing;
+        }
+        SpawnZone nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+        for (final SpawnZone zone : this.zones.getZones()) {
+            final double dx = zone.getCenterX() - loc.getX();
+            final double dz = zone.getCenterZ() - loc.getZ();
+            final double distance = dx * dx + dz * dz;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = zone;
+            }
+        }
+        return nearest;
+    }
+
+    private void showAreaParticles(final Player player, final SpawnZone zone) {
+        if (zone.isRectangular()) {
+            this.showRectangularAreaParticles(player, zone);
         } else {
-            this.showCircularAreaParticles(player);
+            this.showCircularAreaParticles(player, zone);
         }
     }
 
-    private void showCircularAreaParticles(final Player player) {
-        final Location center = this.spawnLocation.clone();
+    private void showCircularAreaParticles(final Player player, final SpawnZone zone) {
+        final Location center = new Location(this.world, zone.getCenterX(), zone.getCenterY(), zone.getCenterZ());
         final World world = center.getWorld();
+        final double radius = zone.getRadius();
 
         final double playerY = player.getLocation().getY();
 
@@ -488,8 +562,8 @@ public class SpawnElytra implements Listener {
 
             for (double angle = 0; angle < 360; angle += angleStep) {
                 final double rad = Math.toRadians(angle);
-                final double x = center.getX() + this.spawnRadius * Math.cos(rad);
-                final double z = center.getZ() + this.spawnRadius * Math.sin(rad);
+                final double x = center.getX() + radius * Math.cos(rad);
+                final double z = center.getZ() + radius * Math.sin(rad);
                 final Location particleLocation = new Location(world, x, y, z);
 
                 final Particle.DustOptions dustOptions = Math.abs(yOffset) <= 8 ? brightGold : gold;
@@ -498,10 +572,10 @@ public class SpawnElytra implements Listener {
         }
 
         final double[][] cardinals = {
-                {center.getX() + this.spawnRadius, center.getZ()},
-                {center.getX() - this.spawnRadius, center.getZ()},
-                {center.getX(), center.getZ() + this.spawnRadius},
-                {center.getX(), center.getZ() - this.spawnRadius}
+                {center.getX() + radius, center.getZ()},
+                {center.getX() - radius, center.getZ()},
+                {center.getX(), center.getZ() + radius},
+                {center.getX(), center.getZ() - radius}
         };
         for (final double[] p : cardinals) {
 
@@ -532,8 +606,12 @@ public class SpawnElytra implements Listener {
         }
     }
 
-    private void showRectangularAreaParticles(final Player player) {
+    private void showRectangularAreaParticles(final Player player, final SpawnZone zone) {
         final double playerY = player.getLocation().getY();
+        final double minX = zone.getMinX();
+        final double minZ = zone.getMinZ();
+        final double maxX = zone.getMaxX();
+        final double maxZ = zone.getMaxZ();
 
         final Particle.DustOptions gold = new Particle.DustOptions(Color.fromRGB(255, 215, 0), this.visualizationParticleSize);
         final Particle.DustOptions brightGold = this.visualizationEnhancedParticles ?
@@ -545,19 +623,19 @@ public class SpawnElytra implements Listener {
 
             final Particle.DustOptions dustOptions = Math.abs(yOffset) <= 6 ? brightGold : gold;
 
-            for (double x = this.minX; x <= this.maxX; x += 0.75) {
-                player.spawnParticle(Particle.DUST, new Location(this.world, x, y, this.minZ), 1, 0, 0, 0, 0, dustOptions);
-                player.spawnParticle(Particle.DUST, new Location(this.world, x, y, this.maxZ), 1, 0, 0, 0, 0, dustOptions);
+            for (double x = minX; x <= maxX; x += 0.75) {
+                player.spawnParticle(Particle.DUST, new Location(this.world, x, y, minZ), 1, 0, 0, 0, 0, dustOptions);
+                player.spawnParticle(Particle.DUST, new Location(this.world, x, y, maxZ), 1, 0, 0, 0, 0, dustOptions);
             }
 
-            for (double z = this.minZ; z <= this.maxZ; z += 0.75) {
-                player.spawnParticle(Particle.DUST, new Location(this.world, this.minX, y, z), 1, 0, 0, 0, 0, dustOptions);
-                player.spawnParticle(Particle.DUST, new Location(this.world, this.maxX, y, z), 1, 0, 0, 0, 0, dustOptions);
+            for (double z = minZ; z <= maxZ; z += 0.75) {
+                player.spawnParticle(Particle.DUST, new Location(this.world, minX, y, z), 1, 0, 0, 0, 0, dustOptions);
+                player.spawnParticle(Particle.DUST, new Location(this.world, maxX, y, z), 1, 0, 0, 0, 0, dustOptions);
             }
         }
 
         final double[][] corners = {
-                {this.minX, this.minZ}, {this.minX, this.maxZ}, {this.maxX, this.minZ}, {this.maxX, this.maxZ}
+                {minX, minZ}, {minX, maxZ}, {maxX, minZ}, {maxX, maxZ}
         };
         for (final double[] c : corners) {
 
@@ -571,7 +649,7 @@ public class SpawnElytra implements Listener {
             }
         }
 
-        final Location center = new Location(this.world, (this.minX + this.maxX) / 2, playerY, (this.minZ + this.maxZ) / 2);
+        final Location center = new Location(this.world, (minX + maxX) / 2, playerY, (minZ + maxZ) / 2);
         player.spawnParticle(Particle.END_ROD, center, 5, 0.2, 0.2, 0.2, 0);
         if (this.visualizationEnhancedParticles) {
             player.spawnParticle(Particle.FIREWORK, center, 3, 0.1, 0.1, 0.1, 0.05);
@@ -589,10 +667,10 @@ public class SpawnElytra implements Listener {
 
         if (this.visualizationEnhancedParticles) {
             final double[][] midpoints = {
-                    {(this.minX + this.maxX) / 2, this.minZ},
-                    {(this.minX + this.maxX) / 2, this.maxZ},
-                    {this.minX, (this.minZ + this.maxZ) / 2},
-                    {this.maxX, (this.minZ + this.maxZ) / 2}
+                    {(minX + maxX) / 2, minZ},
+                    {(minX + maxX) / 2, maxZ},
+                    {minX, (minZ + maxZ) / 2},
+                    {maxX, (minZ + maxZ) / 2}
             };
             for (final double[] m : midpoints) {
 
@@ -604,18 +682,25 @@ public class SpawnElytra implements Listener {
         }
     }
 
-    private boolean hasAirBelow(final Player player) {
-        final Location loc = player.getLocation();
+    private boolean hasAirBelow(final Location loc) {
+        final int x = loc.getBlockX();
+        final int y = loc.getBlockY();
+        final int z = loc.getBlockZ();
         for (int i = 1; i <= 3; i++) {
-            final Block block = loc.clone().subtract(0, i, 0).getBlock();
-            if (Material.AIR != block.getType() && Material.CAVE_AIR != block.getType()) {
+            final Material type = this.world.getType(x, y - i, z);
+            if (Material.AIR != type && Material.CAVE_AIR != type) {
                 return false;
             }
         }
         return true;
     }
 
-    private void activateElytraFlight(final Player player) {
+    private boolean isLiquidBelow(final Location loc) {
+        final Material type = this.world.getType(loc.getBlockX(), loc.getBlockY() - 1, loc.getBlockZ());
+        return Material.WATER == type || Material.LAVA == type;
+    }
+
+    void activateElytraFlight(final Player player, final SpawnZone zone) {
         if (this.hungerEnabled && HungerMode.ACTIVATION == hungerMode) {
             if (!this.shouldConsumeHunger(player)) {
                 MessageUtil.sendActionBar(player, "not_enough_hunger");
@@ -638,27 +723,31 @@ public class SpawnElytra implements Listener {
             MessageUtil.sendActionBar(player, "press_to_boost");
         }
 
-        flying.add(player);
+        final FlightSession session = this.sessions.getOrCreate(player.getUniqueId());
+        session.flying = true;
+        session.flightZone = zone;
 
-        this.initializeHungerTracking(player);
+        this.initializeHungerTracking(player, session);
     }
 
-    private void disableElytraFlight(final Player player) {
+    private void disableElytraFlight(final Player player, final FlightSession session) {
         player.setAllowFlight(false);
         player.setGliding(false);
-        boosted.remove(player);
-        this.resetHungerTracking(player);
+        session.flying = false;
+        session.boosted = false;
+        session.flightZone = null;
+        session.resetHunger();
+    }
+
+    private boolean isFlying(final Player player) {
+        final FlightSession session = this.sessions.get(player.getUniqueId());
+        return session != null && session.flying;
     }
 
-    @EventHandler
     public void onDoubleJump(final PlayerToggleFlightEvent event) {
-        if (!this.isValid()) {
-            return;
-        }
-        
         final Player player = event.getPlayer();
 
-        if (!player.hasPermission("spawnelytra.use")) {
+        if (!this.hasPermission(player, PermissionSnapshot.USE)) {
             return;
         }
 
@@ -666,33 +755,26 @@ public class SpawnElytra implements Listener {
             return;
         }
 
-            if (this.isElytraAllowedInMode(player) && isInSpawnArea(player)) {
+        final SpawnZone zone = this.isElytraAllowedInMode(player) ? this.zoneAt(player) : null;
+        if (zone != null && this.hasZonePermission(player, zone)) {
             event.setCancelled(true);
 
             if (player.isGliding()) {
                 return;
             }
 
-            if (flying.contains(player)) {
+            if (this.isFlying(player)) {
                 return;
             }
 
-            if ("double_jump".equalsIgnoreCase(activationMode)) {
-                this.activateElytraFlight(player);
-            }
+            zone.getActivationMode().onDoubleJump(this, player, zone);
         }
     }
 
-    @EventHandler
     public void onPlayerSneak(final PlayerToggleSneakEvent event) {
-        if (!this.isValid()) {
-            return;
-        }
-        
         final Player player = event.getPlayer();
-        final UUID playerId = player.getUniqueId();
 
-        if (!player.hasPermission("spawnelytra.use")) {
+        if (!this.hasPermission(player, PermissionSnapshot.USE)) {
             return;
         }
 
@@ -700,123 +782,144 @@ public class SpawnElytra implements Listener {
             return;
         }
 
-        if (!"sneak_jump".equalsIgnoreCase(activationMode)) {
+        if (!this.isElytraAllowedInMode(player)) {
             return;
         }
 
-        if (!this.isElytraAllowedInMode(player) || !isInSpawnArea(player)) {
+        final SpawnZone zone = this.zoneAt(player);
+        if (zone == null || !this.hasZonePermission(player, zone)) {
             return;
         }
 
+        zone.getActivationMode().onSneak(this, event, zone);
+    }
+
+    void handleSneakJump(final PlayerToggleSneakEvent event, final SpawnZone zone) {
+        final Player player = event.getPlayer();
+        final FlightSession session = this.sessions.getOrCreate(player.getUniqueId());
         if (event.isSneaking()) {
-            this.sneakPressed.put(playerId, true);
+            session.sneakPressed = true;
 
             SchedulerUtil.runAtEntityLater(this.plugin, player, 10L, () -> {
-                final UUID playerUUID = player.getUniqueId();
-                if (this.sneakPressed.getOrDefault(playerUUID, false) &&
+                if (session.sneakPressed &&
+                        this.sessions.get(player.getUniqueId()) == session &&
                         !player.isOnGround() &&
-                        !flying.contains(player)) {
+                        !session.flying) {
 
                     final long currentTime = System.currentTimeMillis();
-                    final Long lastActivation = this.sneakJumpCooldown.get(playerUUID);
 
-                    if (lastActivation == null || currentTime > 1000 - lastActivation) {
-                        this.activateElytraFlight(player);
-                        this.sneakJumpCooldown.put(playerUUID, currentTime);
+                    if (session.lastSneakActivation == 0 || currentTime - session.lastSneakActivation > 1000) {
+                        this.activateElytraFlight(player, zone);
+                        session.lastSneakActivation = currentTime;
                     }
                 }
-                this.sneakPressed.put(playerUUID, false);
+                session.sneakPressed = false;
             });
         } else {
-            this.sneakPressed.put(playerId, false);
+            session.sneakPressed = false;
         }
     }
 
-    @EventHandler
     public void onPlayerMove(final PlayerMoveEvent event) {
-        if (!this.isValid()) {
-            return;
-        }
-        
         final Player player = event.getPlayer();
+        FlightSession session = this.sessions.get(player.getUniqueId());
+        final boolean wasFlying = session != null && session.flying;
+        final Location to = event.getTo();
 
-        if (this.isElytraAllowedInMode(player)) {
-            final boolean inArea = isInSpawnArea(player);
-
-            player.setAllowFlight(inArea && !player.isGliding());
+        if (!wasFlying && !hasChangedBlock(event.getFrom(), to)) {
+            return;
+        }
 
-            if ("auto".equalsIgnoreCase(activationMode)
-                    && inArea
-                    && !flying.contains(player)
-                    && this.hasAirBelow(player)
-                    && !player.isOnGround()
-                    && !player.isFlying()
-                    && !player.isGliding()
-                    && player.hasPermission("spawnelytra.use")) {
-                this.activateElytraFlight(player);
+        final SpawnZone previousZone = session != null ? session.areaZone : null;
+        final SpawnZone zone = this.resolveZone(previousZone, to);
+        if (zone != previousZone) {
+            session = this.sessions.getOrCreate(player.getUniqueId());
+            session.areaZone = zone;
+            if (previousZone != null) {
+                this.transitions.leave(player, previousZone);
+            }
+            if (zone != null) {
+                this.transitions.enter(player, zone);
             }
+            this.applyAllowFlight(player, session);
         }
 
-        if (flying.contains(player)) {
-            if (player.isOnGround() || player.getLocation().getBlock().getRelative(BlockFace.DOWN).isLiquid()) {
-                this.disableElytraFlight(player);
-                flying.remove(player);
+        if (zone != null && !wasFlying) {
+            zone.getActivationMode().onMove(this, player, zone, to);
+        }
+
+        if (wasFlying) {
+            if (player.isOnGround() || this.isLiquidBelow(to)) {
+                this.disableElytraFlight(player, session);
+                this.applyAllowFlight(player, session);
             } else {
                 player.setFallDistance(0);
                 if (player.isGliding() && this.hungerEnabled) {
-                    this.handleHungerWhileFlying(player);
+                    this.handleHungerWhileFlying(player, session, to);
                 }
             }
-        } else {
+        } else if (session != null && !player.isGliding()) {
+            session.resetHunger();
+        }
+    }
 
-            if (!player.isGliding()) {
-                this.resetHungerTracking(player);
-            }
+    void tryAutoActivation(final Player player, final SpawnZone zone, final Location to) {
+        if (this.isElytraAllowedInMode(player)
+                && !player.isOnGround()
+                && !player.isFlying()
+                && !player.isGliding()
+                && this.hasAirBelow(to)
+                && this.hasPermission(player, PermissionSnapshot.USE)
+                && this.hasZonePermission(player, zone)) {
+            this.activateElytraFlight(player, zone);
         }
     }
 
-    @EventHandler
-    public void onEntityDamage(final EntityDamageEvent event) {
-        if (EntityType.PLAYER == event.getEntityType()) {
-            final Player player = (Player) event.getEntity();
-            if (flying.contains(player) && (DamageCause.FALL == event.getCause() || DamageCause.FLY_INTO_WALL == event.getCause())) {
-                event.setCancelled(true);
-            }
+    private SpawnZone resolveZone(final SpawnZone current, final Location to) {
+        final SpawnZone zone = this.zoneAt(to);
+        if (zone == null && current != null
+                && current.containsWithin(to.getX(), to.getY(), to.getZ(), this.zoneHysteresis)) {
+            return current;
         }
+        return zone;
     }
 
-    @EventHandler
-    public void onSwapItem(final PlayerSwapHandItemsEvent event) {
-        if (!this.isValid()) {
+    private void applyAllowFlight(final Player player, final FlightSession session) {
+        if (!this.isElytraAllowedInMode(player)) {
             return;
         }
-        
-        final Player player = event.getPlayer();
-
-        if ("f_key".equalsIgnoreCase(activationMode)) {
-            if (!player.hasPermission("spawnelytra.use")) {
-                return;
-            }
-
-            if (this.disableInCreative && GameMode.CREATIVE == player.getGameMode()) {
-                return;
-            }
+        final boolean allowFlight = session.areaZone != null
+                && !session.flying
+                && !player.isGliding()
+                && this.hasPermission(player, PermissionSnapshot.USE)
+                && this.hasZonePermission(player, session.areaZone);
+        if (player.getAllowFlight() != allowFlight) {
+            player.setAllowFlight(allowFlight);
+        }
+    }
 
-            if (this.isElytraAllowedInMode(player) && isInSpawnArea(player)) {
-                if (!flying.contains(player)) {
-                    event.setCancelled(true);
+    private static boolean hasChangedBlock(final Location from, final Location to) {
+        return from.getBlockX() != to.getBlockX()
+                || from.getBlockY() != to.getBlockY()
+                || from.getBlockZ() != to.getBlockZ();
+    }
 
-                    final Vector launchVelocity = new Vector(0, fKeyLaunchStrength, 0);
-                    player.setVelocity(launchVelocity);
+    public void onEntityDamage(final EntityDamageEvent event) {
+        final Player player = (Player) event.getEntity();
+        if (this.isFlying(player) && (DamageCause.FALL == event.getCause() || DamageCause.FLY_INTO_WALL == event.getCause())) {
+            event.setCancelled(true);
+        }
+    }
 
-                    SchedulerUtil.runAtEntityLater(this.plugin, player, 5L, () -> this.activateElytraFlight(player));
+    public void onSwapItem(final PlayerSwapHandItemsEvent event) {
+        final Player player = event.getPlayer();
 
-                    return;
-                }
-            }
+        final SpawnZone zone = this.isElytraAllowedInMode(player) ? this.zoneAt(player) : null;
+        if (zone != null && zone.getActivationMode().onSwapHands(this, event, zone)) {
+            return;
         }
 
-        if (!player.hasPermission("spawnelytra.useboost")) {
+        if (!this.hasPermission(player, PermissionSnapshot.USE_BOOST)) {
             return;
         }
 
@@ -824,18 +927,21 @@ public class SpawnElytra implements Listener {
             return;
         }
 
-        if (flying.contains(player) &&
-                !boosted.contains(player) &&
+        final FlightSession session = this.sessions.get(player.getUniqueId());
+        if (session != null &&
+                session.flying &&
+                !session.boosted &&
                 player.isGliding()) {
 
             event.setCancelled(true);
-            boosted.add(player);
+            session.boosted = true;
 
+            final int strength = session.flightZone != null ? session.flightZone.getBoostStrength() : this.multiplyValue;
             final Vector velocity;
-            if ("upward".equalsIgnoreCase(boostDirection)) {
-                velocity = new Vector(0, multiplyValue, 0);
+            if (this.upwardBoost) {
+                velocity = new Vector(0, strength, 0);
             } else {
-                velocity = player.getLocation().getDirection().multiply(multiplyValue);
+                velocity = player.getLocation().getDirection().multiply(strength);
             }
 
             player.setVelocity(velocity);
@@ -852,19 +958,34 @@ public class SpawnElytra implements Listener {
         }
     }
 
-    @EventHandler
-    public void onToggleGlide(final EntityToggleGlideEvent event) {
-        if (!this.isValid()) {
-            return;
+    boolean handleFKeyLaunch(final PlayerSwapHandItemsEvent event, final SpawnZone zone) {
+        final Player player = event.getPlayer();
+        if (!this.hasPermission(player, PermissionSnapshot.USE) || !this.hasZonePermission(player, zone)) {
+            return true;
         }
-        
-        if (EntityType.PLAYER != event.getEntityType()) {
-            return;
+
+        if (this.disableInCreative && GameMode.CREATIVE == player.getGameMode()) {
+            return true;
+        }
+
+        if (this.isFlying(player)) {
+            return false;
         }
 
+        event.setCancelled(true);
+
+        final Vector launchVelocity = new Vector(0, fKeyLaunchStrength, 0);
+        player.setVelocity(launchVelocity);
+
+        SchedulerUtil.runAtEntityLater(this.plugin, player, 5L, () -> this.activateElytraFlight(player, zone));
+        return true;
+    }
+
+    public void onToggleGlide(final EntityToggleGlideEvent event) {
         final Player player = (Player) event.getEntity();
 
-        if (flying.contains(player)) {
+        final FlightSession session = this.sessions.get(player.getUniqueId());
+        if (session != null && session.flying) {
             if (!event.isGliding()) {
 
                 event.setCancelled(true);
@@ -872,48 +993,46 @@ public class SpawnElytra implements Listener {
 
                 player.setAllowFlight(false);
             }
+        } else if (session != null && session.areaZone != null && !event.isGliding()) {
+            SchedulerUtil.runAtEntityLater(this.plugin, player, 1L, () -> this.applyAllowFlight(player, session));
         }
     }
 
-    @EventHandler
     public void onGameModeChange(final PlayerGameModeChangeEvent event) {
-        if (!this.isValid()) {
-            return;
-        }
-        
+        final Player player = event.getPlayer();
+        final FlightSession session = this.sessions.get(player.getUniqueId());
         if (this.disableInCreative && GameMode.CREATIVE == event.getNewGameMode()) {
-            final Player player = event.getPlayer();
-            if (this.flying.contains(player)) {
+            if (session != null && session.flying) {
                 SchedulerUtil.runAtEntityLater(this.plugin, player, 1L, () -> {
-                    this.disableElytraFlight(player);
-                    this.flying.remove(player);
+                    this.disableElytraFlight(player, session);
 
                     SchedulerUtil.runAtEntityLater(this.plugin, player, 5L, () -> {
                         player.setAllowFlight(true);
                     });
                 });
             }
+        } else if (session != null && session.areaZone != null) {
+            SchedulerUtil.runAtEntityLater(this.plugin, player, 1L, () -> this.applyAllowFlight(player, session));
         }
     }
 
-    private boolean isInSpawnArea(final Player player) {
-        if (!player.getWorld().equals(world) || this.spawnLocation == null) {
-            return false;
-        }
+    private boolean hasPermission(final Player player, final String node) {
+        return this.sessions.hasPermission(player, node);
+    }
 
-        if (useRectangularArea) {
-            final Location loc = player.getLocation();
-            final double x = loc.getX();
-            final double y = loc.getY();
-            final double z = loc.getZ();
+    private boolean hasZonePermission(final Player player, final SpawnZone zone) {
+        return zone.getPermission() == null || this.hasPermission(player, zone.getPermission());
+    }
 
-            return x >= minX && x <= maxX &&
-                    y >= minY && y <= maxY &&
-                    z >= minZ && z <= maxZ;
-        } else {
-            final double distance = spawnLocation.distance(player.getLocation());
-            return distance <= spawnRadius;
+    private SpawnZone zoneAt(final Player player) {
+        return this.zoneAt(player.getLocation(SCRATCH_LOCATION.get()));
+    }
+
+    private SpawnZone zoneAt(final Location loc) {
+        if (!this.world.equals(loc.getWorld())) {
+            return null;
         }
+        return this.zones.zoneAt(loc.getX(), loc.getY(), loc.getZ());
     }
 
     private boolean isElytraAllowedInMode(final Player player) {
@@ -922,10 +1041,42 @@ public class SpawnElytra implements Listener {
         return GameMode.ADVENTURE == mode && !this.disableInAdventure;
     }
 
+    public void onWorldLeave(final Player player) {
+        this.stopVisualization(player);
+        final FlightSession session = this.sessions.end(player.getUniqueId());
+        if (session != null && session.areaZone != null) {
+            this.transitions.leave(player, session.areaZone);
+            SpawnElytra.releaseAllowFlight(player);
+        }
+    }
+
+    public void refresh(final Player player, final boolean hadZone) {
+        final SpawnZone zone = this.zoneAt(player);
+        if (zone == null || !this.isElytraAllowedInMode(player)) {
+            if (hadZone) {
+                SpawnElytra.releaseAllowFlight(player);
+            }
+            if (zone == null) {
+                return;
+            }
+        }
+        final FlightSession session = this.sessions.getOrCreate(player.getUniqueId());
+        session.areaZone = zone;
+        this.transitions.enter(player, zone);
+        this.applyAllowFlight(player, session);
+    }
+
+    public static void releaseAllowFlight(final Player player) {
+        final GameMode mode = player.getGameMode();
+        if ((GameMode.SURVIVAL == mode || GameMode.ADVENTURE == mode) && player.getAllowFlight()) {
+            player.setAllowFlight(false);
+        }
+    }
+
     public void stopVisualization(final Player player) {
-        final SchedulerUtil.TaskHandle task = this.visualizationTasks.remove(player.getUniqueId());
-        if (task != null) {
-            task.cancel();
+        final FlightSession session = this.sessions.get(player.getUniqueId());
+        if (session != null && session.visualizationTask != null) {
+            session.cancelVisualization();
             MessageUtil.send(player, "visualize_stop");
         }
     }
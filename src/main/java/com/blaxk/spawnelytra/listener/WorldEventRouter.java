@@ -0,0 +1,184 @@
+package com.blaxk.spawnelytra.listener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityToggleGlideEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerGameModeChangeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerSwapHandItemsEvent;
+import org.bukkit.event.player.PlayerToggleFlightEvent;
+import org.bukkit.event.player.PlayerToggleSneakEvent;
+import org.bukkit.plugin.Plugin;
+
+public class WorldEventRouter implements Listener {
+    private final Plugin plugin;
+    private volatile Map<UUID, SpawnElytra> handlers = Collections.emptyMap();
+    private Listener optionalListener;
+    private Set<Class<? extends Event>> optionalEvents = Collections.emptySet();
+
+    public WorldEventRouter(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void setHandlers(final Map<String, SpawnElytra> worldInstances) {
+        final Map<UUID, SpawnElytra> byWorld = new HashMap<>();
+        final Set<Class<? extends Event>> events = new HashSet<>();
+        for (final SpawnElytra handler : worldInstances.values()) {
+            if (handler != null && handler.isValid()) {
+                byWorld.put(handler.getWorld().getUID(), handler);
+                events.addAll(handler.getOptionalEvents());
+            }
+        }
+        this.handlers = byWorld;
+        this.registerOptional(events);
+    }
+
+    public void clear() {
+        this.handlers = Collections.emptyMap();
+        this.registerOptional(Collections.emptySet());
+    }
+
+    public Set<Class<? extends Event>> getOptionalEvents() {
+        return this.optionalEvents;
+    }
+
+    private void registerOptional(final Set<Class<? extends Event>> events) {
+        if (this.optionalListener != null) {
+            HandlerList.unregisterAll(this.optionalListener);
+            this.optionalListener = null;
+        }
+        this.optionalEvents = Collections.unmodifiableSet(events);
+        if (events.isEmpty()) {
+            return;
+        }
+
+        final Listener listener = new Listener() {
+        };
+        if (events.contains(PlayerInteractEvent.class)) {
+            Bukkit.getPluginManager().registerEvent(PlayerInteractEvent.class, listener, EventPriority.NORMAL,
+                    (l, event) -> {
+                        if (event instanceof final PlayerInteractEvent interact) {
+                            this.onPlayerInteract(interact);
+                        }
+                    }, this.plugin);
+        }
+        if (events.contains(PlayerToggleSneakEvent.class)) {
+            Bukkit.getPluginManager().registerEvent(PlayerToggleSneakEvent.class, listener, EventPriority.NORMAL,
+                    (l, event) -> {
+                        if (event instanceof final PlayerToggleSneakEvent sneak) {
+                            this.onPlayerSneak(sneak);
+                        }
+                    }, this.plugin);
+        }
+        if (events.contains(PlayerSwapHandItemsEvent.class)) {
+            Bukkit.getPluginManager().registerEvent(PlayerSwapHandItemsEvent.class, listener, EventPriority.NORMAL,
+                    (l, event) -> {
+                        if (event instanceof final PlayerSwapHandItemsEvent swap) {
+                            this.onSwapItem(swap);
+                        }
+                    }, this.plugin);
+        }
+        this.optionalListener = listener;
+    }
+
+    private SpawnElytra handlerFor(final Entity entity) {
+        return this.handlers.get(entity.getWorld().getUID());
+    }
+
+    private void onPlayerInteract(final PlayerInteractEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onPlayerInteract(event);
+        }
+    }
+
+    @EventHandler
+    public void onDoubleJump(final PlayerToggleFlightEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onDoubleJump(event);
+        }
+    }
+
+    private void onPlayerSneak(final PlayerToggleSneakEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onPlayerSneak(event);
+        }
+    }
+
+    @EventHandler
+    public void onPlayerMove(final PlayerMoveEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onPlayerMove(event);
+        }
+    }
+
+    @EventHandler
+    public void onEntityDamage(final EntityDamageEvent event) {
+        if (EntityType.PLAYER != event.getEntityType()) {
+            return;
+        }
+        final SpawnElytra handler = this.handlerFor(event.getEntity());
+        if (handler != null) {
+            handler.onEntityDamage(event);
+        }
+    }
+
+    private void onSwapItem(final PlayerSwapHandItemsEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onSwapItem(event);
+        }
+    }
+
+    @EventHandler
+    public void onToggleGlide(final EntityToggleGlideEvent event) {
+        if (EntityType.PLAYER != event.getEntityType()) {
+            return;
+        }
+        final SpawnElytra handler = this.handlerFor(event.getEntity());
+        if (handler != null) {
+            handler.onToggleGlide(event);
+        }
+    }
+
+    @EventHandler
+    public void onGameModeChange(final PlayerGameModeChangeEvent event) {
+        final SpawnElytra handler = this.handlerFor(event.getPlayer());
+        if (handler != null) {
+            handler.onGameModeChange(event);
+        }
+    }
+
+    @EventHandler
+    public void onWorldChange(final PlayerChangedWorldEvent event) {
+        final World from = event.getFrom();
+        if (from == null) {
+            return;
+        }
+        final SpawnElytra previous = this.handlers.get(from.getUID());
+        if (previous != null) {
+            previous.onWorldLeave(event.getPlayer());
+        }
+    }
+}
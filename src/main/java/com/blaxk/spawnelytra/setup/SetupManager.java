@@ -20,8 +20,11 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 public class SetupManager implements Listener {
+    private static final Pattern ZONE_NAME = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
     private final Main plugin;
     private final Map<UUID, SetupSession> sessions = new HashMap<>();
 
@@ -88,6 +91,20 @@ public class SetupManager implements Listener {
         }
     }
 
+    public void selectZone(final Player player, final String zoneName) {
+        final SetupSession session = this.sessions.get(player.getUniqueId());
+        if (session == null) {
+            MessageUtil.send(player, "setup_not_running");
+            return;
+        }
+        if (!ZONE_NAME.matcher(zoneName).matches()) {
+            MessageUtil.send(player, "setup_invalid_zone");
+            return;
+        }
+        session.setZoneName(zoneName);
+        MessageUtil.send(player, "setup_zone_set", Placeholder.unparsed("zone", zoneName));
+    }
+
     public void toggleBoostActivatedMessage(final Player player) {
         final SetupSession session = this.sessions.get(player.getUniqueId());
         if (session == null) {
@@ -96,7 +113,7 @@ public class SetupManager implements Listener {
         }
         final boolean newValue = !session.isShowBoostActivated();
         session.setShowBoostActivated(newValue);
-        final String valueLocalized = MessageUtil.plain(newValue ? "state_on" : "state_off");
+        final String valueLocalized = MessageUtil.plain(player, newValue ? "state_on" : "state_off");
         MessageUtil.send(player, "setup_toggled_boost_activated", Placeholder.unparsed("value", valueLocalized));
     }
 
@@ -108,7 +125,7 @@ public class SetupManager implements Listener {
         }
         final boolean newValue = !session.isShowPressToBoost();
         session.setShowPressToBoost(newValue);
-        final String valueLocalized = MessageUtil.plain(newValue ? "state_on" : "state_off");
+        final String valueLocalized = MessageUtil.plain(player, newValue ? "state_on" : "state_off");
         MessageUtil.send(player, "setup_toggled_press_to_boost", Placeholder.unparsed("value", valueLocalized));
     }
 
@@ -135,18 +152,26 @@ public class SetupManager implements Listener {
         }
 
         this.plugin.getConfig().set(path + ".enabled", true);
-        this.plugin.getConfig().set(path + ".spawn_area.mode", "advanced");
-        this.plugin.getConfig().set(path + ".spawn_area.area_type", "rectangular");
-        this.plugin.getConfig().set(path + ".spawn_area.x", p1.getX());
-        this.plugin.getConfig().set(path + ".spawn_area.y", p1.getY());
-        this.plugin.getConfig().set(path + ".spawn_area.z", p1.getZ());
-        this.plugin.getConfig().set(path + ".spawn_area.x2", p2.getX());
-        this.plugin.getConfig().set(path + ".spawn_area.y2", p2.getY());
-        this.plugin.getConfig().set(path + ".spawn_area.z2", p2.getZ());
+
+        final String zoneName = session.getZoneName();
+        final String areaPath;
+        if (zoneName != null) {
+            areaPath = path + ".zones." + zoneName;
+        } else {
+            areaPath = path + ".spawn_area";
+            this.plugin.getConfig().set(areaPath + ".mode", "advanced");
+        }
+        this.plugin.getConfig().set(areaPath + ".area_type", "rectangular");
+        this.plugin.getConfig().set(areaPath + ".x", p1.getX());
+        this.plugin.getConfig().set(areaPath + ".y", p1.getY());
+        this.plugin.getConfig().set(areaPath + ".z", p1.getZ());
+        this.plugin.getConfig().set(areaPath + ".x2", p2.getX());
+        this.plugin.getConfig().set(areaPath + ".y2", p2.getY());
+        this.plugin.getConfig().set(areaPath + ".z2", p2.getZ());
 
         
         if (session.getActivationMode() != null) {
-            this.plugin.getConfig().set(path + ".activation_mode", session.getActivationMode());
+            this.plugin.getConfig().set((zoneName != null ? areaPath : path) + ".activation_mode", session.getActivationMode());
         }
 
         this.plugin.getConfig().set("messages.show_boost_activated", session.isShowBoostActivated());
@@ -175,43 +200,43 @@ public class SetupManager implements Listener {
             current = this.plugin.getConfig().getString("worlds." + worldName + ".activation_mode", "double_jump");
         }
         final String text = "<#91f251>" +
-                this.option("/spawnelytra setup mode double_jump", this.prettyActivation("double_jump"), "activation_mode_hover_double_jump", "double_jump".equalsIgnoreCase(current)) + " " +
-                this.option("/spawnelytra setup mode auto", this.prettyActivation("auto"), "activation_mode_hover_auto", "auto".equalsIgnoreCase(current)) + " " +
-                this.option("/spawnelytra setup mode sneak_jump", this.prettyActivation("sneak_jump"), "activation_mode_hover_sneak_jump", "sneak_jump".equalsIgnoreCase(current)) + " " +
-                this.option("/spawnelytra setup mode f_key", this.prettyActivation("f_key"), "activation_mode_hover_f_key", "f_key".equalsIgnoreCase(current));
+                this.option(player, "/spawnelytra setup mode double_jump", this.prettyActivation("double_jump"), "activation_mode_hover_double_jump", "double_jump".equalsIgnoreCase(current)) + " " +
+                this.option(player, "/spawnelytra setup mode auto", this.prettyActivation("auto"), "activation_mode_hover_auto", "auto".equalsIgnoreCase(current)) + " " +
+                this.option(player, "/spawnelytra setup mode sneak_jump", this.prettyActivation("sneak_jump"), "activation_mode_hover_sneak_jump", "sneak_jump".equalsIgnoreCase(current)) + " " +
+                this.option(player, "/spawnelytra setup mode f_key", this.prettyActivation("f_key"), "activation_mode_hover_f_key", "f_key".equalsIgnoreCase(current));
         MessageUtil.sendRaw(player, MiniMessage.miniMessage().deserialize(text));
 
         
         final boolean showBoost = session.isShowBoostActivated();
         final boolean showPress = session.isShowPressToBoost();
-        final String boostLabel = MessageUtil.plain("setup_toggle_boost_label");
-        final String pressLabel = MessageUtil.plain("setup_toggle_press_label");
+        final String boostLabel = MessageUtil.plain(player, "setup_toggle_boost_label");
+        final String pressLabel = MessageUtil.plain(player, "setup_toggle_press_label");
         final String toggles = "<#5db3ff>" +
-                this.labeledToggle(boostLabel, "/spawnelytra setup toggle boost", showBoost) + " " +
-                this.labeledToggle(pressLabel, "/spawnelytra setup toggle press", showPress);
+                this.labeledToggle(player, boostLabel, "/spawnelytra setup toggle boost", showBoost) + " " +
+                this.labeledToggle(player, pressLabel, "/spawnelytra setup toggle press", showPress);
         MessageUtil.sendRaw(player, MiniMessage.miniMessage().deserialize(toggles));
 
         
-        final String saveLabel = MessageUtil.plain("setup_actions_save_label");
-        final String saveHover = MessageUtil.plain("setup_actions_save_hover");
-        final String exitLabel = MessageUtil.plain("setup_actions_exit_label");
-        final String exitHover = MessageUtil.plain("setup_actions_exit_hover");
+        final String saveLabel = MessageUtil.plain(player, "setup_actions_save_label");
+        final String saveHover = MessageUtil.plain(player, "setup_actions_save_hover");
+        final String exitLabel = MessageUtil.plain(player, "setup_actions_exit_label");
+        final String exitHover = MessageUtil.plain(player, "setup_actions_exit_hover");
         final String actions = "<#ffd166>[<click:run_command:'/spawnelytra setup save'><hover:show_text:'<#ffd166>" + saveHover + "'>" + saveLabel + "</hover></click>] " +
                 "<#aaa8a8>[<click:run_command:'/spawnelytra setup exit'><hover:show_text:'<#fd5e5e>" + exitHover + "'>" + exitLabel + "</hover></click>]";
         MessageUtil.sendRaw(player, MiniMessage.miniMessage().deserialize(actions));
     }
 
-    private String option(final String cmd, final String label, final String hoverKey, final boolean selected) {
-        final String hoverText = MessageUtil.plain(hoverKey);
+    private String option(final Player player, final String cmd, final String label, final String hoverKey, final boolean selected) {
+        final String hoverText = MessageUtil.plain(player, hoverKey);
         final String open = "[<click:run_command:'" + cmd + "'><hover:show_text:'" + hoverText + "'>";
         final String core = selected ? ("<underlined>" + label + "</underlined>") : label;
         return open + core + "</hover></click>]";
     }
 
-    private String labeledToggle(final String label, final String cmd, final boolean on) {
-        final String onLabel = MessageUtil.plain("state_on");
-        final String offLabel = MessageUtil.plain("state_off");
-        final String toggleHover = MessageUtil.plain("toggle_hover");
+    private String labeledToggle(final Player player, final String label, final String cmd, final boolean on) {
+        final String onLabel = MessageUtil.plain(player, "state_on");
+        final String offLabel = MessageUtil.plain(player, "state_off");
+        final String toggleHover = MessageUtil.plain(player, "toggle_hover");
         final String state = on ? ("<#91f251>" + onLabel) : ("<#fd5e5e>" + offLabel);
         return label + ": [<click:run_command:'" + cmd + "'><hover:show_text:'<#5db3ff>" + toggleHover + "'>" + state + "</hover></click>]";
     }
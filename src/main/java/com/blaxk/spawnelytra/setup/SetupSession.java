@@ -16,6 +16,7 @@ public class SetupSession {
     private Location pos1;
     private Location pos2;
     private String activationMode;
+    private String zoneName;
 
     private boolean showBoostActivated;
     private boolean showPressToBoost;
@@ -39,8 +40,8 @@ public class SetupSession {
 
         MessageUtil.send(this.player, "setup_started");
         
-        final String exitLabel = MessageUtil.plain("setup_exit_label");
-        final String exitHover = MessageUtil.plain("setup_exit_hover");
+        final String exitLabel = MessageUtil.plain(this.player, "setup_exit_label");
+        final String exitHover = MessageUtil.plain(this.player, "setup_exit_hover");
         MessageUtil.sendRaw(this.player, net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(
                 "<#aaa8a8>[<click:run_command:'/spawnelytra setup exit'><hover:show_text:'" + exitHover + "'>" + exitLabel + "</hover></click>]")
         );
@@ -195,6 +196,14 @@ public class SetupSession {
         return this.activationMode;
     }
 
+    public void setZoneName(final String zoneName) {
+        this.zoneName = zoneName;
+    }
+
+    public String getZoneName() {
+        return this.zoneName;
+    }
+
     public boolean isShowBoostActivated() {
         return this.showBoostActivated;
     }
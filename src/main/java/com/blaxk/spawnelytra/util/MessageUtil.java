@@ -2,10 +2,15 @@ package com.blaxk.spawnelytra.util;
 
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Inserting;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -15,10 +20,19 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,49 +42,80 @@ public enum MessageUtil {
     private static final PlainTextComponentSerializer PLAIN = PlainTextComponentSerializer.plainText();
 
     private static final Map<String, String> DEFAULT_MESSAGES = new HashMap<>();
-    private static final Map<Character, String> SMALL_CAPS_MAP;
     private static final Pattern UPPERCASE_PLACEHOLDER_PATTERN = Pattern.compile("<([A-Za-z0-9_-]*[A-Z][A-Za-z0-9_-]*)>");
 
-    private static final Map<String, String> messages = new HashMap<>();
-    private static final Map<String, Boolean> messageToggles = new HashMap<>();
+    private static final char PLACEHOLDER_MARK = '\uE000';
+    private static final Pattern PLACEHOLDER_TAG_PATTERN = Pattern.compile("<([a-z0-9_-]+)>");
+    private static final Pattern PLACEHOLDER_MARKER_PATTERN = Pattern.compile(PLACEHOLDER_MARK + "([a-z0-9_-]+)" + PLACEHOLDER_MARK);
+
+    private static final class CompiledMessage {
+        final Component component;
+        final boolean template;
+
+        CompiledMessage(final Component component, final boolean template) {
+            this.component = component;
+            this.template = template;
+        }
+    }
+
+    private static final class LanguageBundle {
+        final String language;
+        final Map<String, String> messages;
+        final Map<String, CompiledMessage> compiled;
+        final long compileNanos;
+
+        LanguageBundle(final String language, final Map<String, String> messages, final Map<String, CompiledMessage> compiled,
+                       final long compileNanos) {
+            this.language = language;
+            this.messages = messages;
+            this.compiled = compiled;
+            this.compileNanos = compileNanos;
+        }
+    }
+
+    private static final class ActionBarState {
+        Component shown;
+        int shownPriority;
+        long shownAt;
+        Component pending;
+        int pendingPriority;
+        boolean flushScheduled;
+
+        void show(final Component component, final int priority, final long now) {
+            this.shown = component;
+            this.shownPriority = priority;
+            this.shownAt = now;
+        }
+    }
+
+    private static final long ACTION_BAR_VISIBLE_NANOS = TimeUnit.SECONDS.toNanos(2L);
+    private static final Map<String, Integer> ACTION_BAR_PRIORITIES = Map.of(
+            "press_to_boost", 0,
+            "creative_mode_elytra_disabled", 1,
+            "boost_activated", 2,
+            "not_enough_hunger", 2);
+    private static final Map<UUID, ActionBarState> actionBars = new ConcurrentHashMap<>();
+    private static volatile long actionBarThrottleNanos;
+    private static final LongAdder actionBarsSent = new LongAdder();
+    private static final LongAdder actionBarsDropped = new LongAdder();
+    private static final LongAdder actionBarsCoalesced = new LongAdder();
+
+    private static final Set<String> CLIENT_LANGUAGES = Set.of("en", "de", "es", "fr", "pl");
+
+    private static volatile LanguageBundle defaultBundle = new LanguageBundle("en", Collections.emptyMap(), Collections.emptyMap(), 0L);
+    private static volatile Map<String, LanguageBundle> bundles = new ConcurrentHashMap<>();
+    private static final Map<UUID, String> playerLanguages = new ConcurrentHashMap<>();
+    private static final Set<String> loadingBundles = ConcurrentHashMap.newKeySet();
+    private static volatile boolean useClientLocale;
+    private static volatile String style = "classic";
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final LongAdder cacheMisses = new LongAdder();
+    private static volatile Map<String, Boolean> messageToggles = Collections.emptyMap();
     private static Plugin plugin;
     private static BukkitAudiences audiences;
     private static boolean isPaperNativeAdventure = false;
 
     static {
-        final Map<Character, String> smallCaps = new HashMap<>();
-        smallCaps.put('a', "ᴀ");
-        smallCaps.put('b', "ʙ");
-        smallCaps.put('c', "ᴄ");
-        smallCaps.put('d', "ᴅ");
-        smallCaps.put('e', "ᴇ");
-        smallCaps.put('f', "ꜰ");
-        smallCaps.put('g', "ɢ");
-        smallCaps.put('h', "ʜ");
-        smallCaps.put('i', "ɪ");
-        smallCaps.put('j', "ᴊ");
-        smallCaps.put('k', "ᴋ");
-        smallCaps.put('l', "ʟ");
-        smallCaps.put('m', "ᴍ");
-        smallCaps.put('n', "ɴ");
-        smallCaps.put('o', "ᴏ");
-        smallCaps.put('p', "ᴘ");
-        smallCaps.put('q', "ǫ");
-        smallCaps.put('r', "ʀ");
-        smallCaps.put('s', "ꜱ");
-        smallCaps.put('t', "ᴛ");
-        smallCaps.put('u', "ᴜ");
-        smallCaps.put('v', "ᴠ");
-        smallCaps.put('w', "ᴡ");
-        smallCaps.put('x', "x");
-        smallCaps.put('y', "ʏ");
-        smallCaps.put('z', "ᴢ");
-        smallCaps.put('ä', "ä");
-        smallCaps.put('ö', "ö");
-        smallCaps.put('ü', "ü");
-        smallCaps.put('ß', "ꜱꜱ");
-        SMALL_CAPS_MAP = Collections.unmodifiableMap(smallCaps);
-
         MessageUtil.DEFAULT_MESSAGES.put("press_to_boost", "<#91f251>Press <bold><#74ea31><key:key.swapOffhand></bold> <#91f251>to boost yourself");
         MessageUtil.DEFAULT_MESSAGES.put("boost_activated", "<#74ea31><bold>Boost activated!</bold>");
 
@@ -103,6 +148,7 @@ public enum MessageUtil {
         MessageUtil.DEFAULT_MESSAGES.put("visualize_end", "<#fdba5e>Area visualization ended.");
         MessageUtil.DEFAULT_MESSAGES.put("visualize_stop", "<#fdba5e>Area visualization stopped.");
         MessageUtil.DEFAULT_MESSAGES.put("visualize_no_area", "<#fd5e5e>No valid spawn area configured!");
+        MessageUtil.DEFAULT_MESSAGES.put("visualize_unknown_zone", "<#fd5e5e>Unknown zone: <#ffd166><zone></#ffd166>");
 
         MessageUtil.DEFAULT_MESSAGES.put("setup_started", "<#91f251>Setup Help enabled. Go to position <#ffd166>1</#ffd166> and run <#5db3ff>/se set pos1</#5db3ff>.");
         MessageUtil.DEFAULT_MESSAGES.put("setup_already_running", "<#ffd166>Setup Help is already active.");
@@ -116,12 +162,25 @@ public enum MessageUtil {
         MessageUtil.DEFAULT_MESSAGES.put("setup_options_header", "<#ffcc33>Setup Options");
         MessageUtil.DEFAULT_MESSAGES.put("setup_activation_mode_set", "<#91f251>Activation mode: <#ffd166><value></#ffd166>");
         MessageUtil.DEFAULT_MESSAGES.put("setup_invalid_mode", "<#fd5e5e>Invalid activation mode.");
+        MessageUtil.DEFAULT_MESSAGES.put("setup_zone_set", "<#91f251>This area will be saved as zone <#ffd166><zone></#ffd166>.");
+        MessageUtil.DEFAULT_MESSAGES.put("setup_invalid_zone", "<#fd5e5e>Zone names may only contain letters, numbers, - and _.");
         MessageUtil.DEFAULT_MESSAGES.put("setup_toggle_boost_label", "Boost activated hint");
         MessageUtil.DEFAULT_MESSAGES.put("setup_toggle_press_label", "\"Press F\" hint");
         MessageUtil.DEFAULT_MESSAGES.put("setup_toggled_boost_activated", "<#91f251>Boost activated hint: <#ffd166><value></#ffd166>");
         MessageUtil.DEFAULT_MESSAGES.put("setup_toggled_press_to_boost", "<#91f251>\"Press F\" hint: <#ffd166><value></#ffd166>");
         MessageUtil.DEFAULT_MESSAGES.put("setup_missing_positions", "<#fd5e5e>Please set both positions first.");
         MessageUtil.DEFAULT_MESSAGES.put("setup_saved", "<#91f251>Setup saved and applied.");
+        MessageUtil.DEFAULT_MESSAGES.put("top_header", "<#ffcc33>Top <stat>");
+        MessageUtil.DEFAULT_MESSAGES.put("top_header_window", "<#ffcc33>Top <stat> <#aaa8a8>(<window>)");
+        MessageUtil.DEFAULT_MESSAGES.put("top_entry", "<#fdba5e><rank>. <#91f251><name></#91f251> <#aaa8a8>- <#ffd166><value></#ffd166>");
+        MessageUtil.DEFAULT_MESSAGES.put("top_empty", "<#aaa8a8>No statistics recorded yet.");
+        MessageUtil.DEFAULT_MESSAGES.put("top_stat_fly", "Flyers");
+        MessageUtil.DEFAULT_MESSAGES.put("top_stat_boost", "Boosters");
+        MessageUtil.DEFAULT_MESSAGES.put("top_stat_total", "Overall");
+        MessageUtil.DEFAULT_MESSAGES.put("top_window_daily", "today");
+        MessageUtil.DEFAULT_MESSAGES.put("top_window_weekly", "last 7 days");
+        MessageUtil.DEFAULT_MESSAGES.put("top_window_monthly", "last 30 days");
+        MessageUtil.DEFAULT_MESSAGES.put("help_top", "<#fdba5e>/spawnelytra top [fly|boost|total] [daily|weekly|monthly] <#aaa8a8>- Show the leaderboard");
         MessageUtil.DEFAULT_MESSAGES.put("help_setup", "<#fdba5e>/spawnelytra setup <#aaa8a8>- Interactive Setup Help (pos1/pos2, options)");
     }
 
@@ -197,35 +256,174 @@ public enum MessageUtil {
     }
 
     public static void loadMessages(final Plugin plugin) {
-        MessageUtil.plugin = plugin;
-        final FileConfiguration config = plugin.getConfig();
-        final String rawLanguage = config.getString("language", "en");
-        final String language = MessageUtil.canonicalizeLanguageCode(rawLanguage);
+        MessageUtil.prepareMessages(plugin, plugin.getConfig()).run();
+    }
+
+    public static Runnable prepareMessages(final Plugin plugin, final FileConfiguration config) {
+        final String language = MessageUtil.canonicalizeLanguageCode(config.getString("language", "en"));
         final String style = config.getString("messages.style", "classic").toLowerCase(Locale.ROOT);
+        final boolean useClientLocale = config.getBoolean("messages.use_client_locale", false);
+        final long throttleNanos = TimeUnit.MILLISECONDS.toNanos(
+                Math.max(0L, config.getLong("messages.action_bar_throttle_ticks", 10L)) * 50L);
+        final boolean showPressToBoost = config.getBoolean("messages.show_press_to_boost", true);
+        final boolean showBoostActivated = config.getBoolean("messages.show_boost_activated", true);
+        final boolean showCreativeDisabled = config.getBoolean("messages.show_creative_disabled", false);
+
+        final LanguageBundle bundle = MessageUtil.loadBundle(plugin, language, style, Collections.emptyMap());
+
+        return () -> {
+            MessageUtil.plugin = plugin;
+            MessageUtil.style = style;
+            MessageUtil.useClientLocale = useClientLocale;
+            MessageUtil.actionBarThrottleNanos = throttleNanos;
+
+            final Map<String, LanguageBundle> loadedBundles = new ConcurrentHashMap<>();
+            loadedBundles.put(language, bundle);
+            MessageUtil.bundles = loadedBundles;
+            MessageUtil.defaultBundle = bundle;
+            MessageUtil.cacheHits.reset();
+            MessageUtil.cacheMisses.reset();
+
+            MessageUtil.messageToggles = Map.of(
+                    "press_to_boost", showPressToBoost,
+                    "boost_activated", showBoostActivated,
+                    "creative_mode_elytra_disabled", showCreativeDisabled);
+
+            for (final Player online : Bukkit.getOnlinePlayers()) {
+                MessageUtil.updatePlayerLocale(online, online.getLocale());
+            }
+        };
+    }
+
+    public static BooleanSupplier prepareLanguage(final Plugin plugin, final String language, final String contents)
+            throws InvalidConfigurationException {
+        final YamlConfiguration langConfig = new YamlConfiguration();
+        langConfig.loadFromString(contents);
+        final Map<String, String> messages = new HashMap<>();
+        for (final String key : langConfig.getKeys(false)) {
+            final String value = langConfig.getString(key);
+            if (value == null || langConfig.isConfigurationSection(key)) {
+                throw new InvalidConfigurationException("'" + key + "' is not a message");
+            }
+            messages.put(key, MessageUtil.normalizePlaceholders(value));
+        }
+        if (messages.isEmpty()) {
+            throw new InvalidConfigurationException("no messages found");
+        }
+
+        final Map<String, Map<String, String>> overrides = Map.of(language, messages);
+        final Map<String, LanguageBundle> previous = new HashMap<>(MessageUtil.bundles);
+        final Map<String, LanguageBundle> replaced = new HashMap<>();
+        for (final LanguageBundle current : previous.values()) {
+            if (current.language.equals(language) || "en".equals(language)) {
+                replaced.put(current.language, MessageUtil.loadBundle(plugin, current.language, MessageUtil.style, overrides));
+            }
+        }
 
-        MessageUtil.messages.clear();
+        return () -> {
+            boolean applied = false;
+            for (final Map.Entry<String, LanguageBundle> entry : replaced.entrySet()) {
+                final LanguageBundle old = previous.get(entry.getKey());
+                if (old != null && MessageUtil.bundles.replace(entry.getKey(), old, entry.getValue())) {
+                    applied = true;
+                    if (MessageUtil.defaultBundle == old) {
+                        MessageUtil.defaultBundle = entry.getValue();
+                    }
+                }
+            }
+            return applied;
+        };
+    }
 
-        MessageUtil.DEFAULT_MESSAGES.forEach((key, value) -> MessageUtil.messages.put(key, MessageUtil.normalizePlaceholders(value)));
+    private static LanguageBundle loadBundle(final Plugin plugin, final String language, final String style,
+                                             final Map<String, Map<String, String>> overrides) {
+        final Map<String, String> loaded = new HashMap<>();
 
-        final Map<String, String> englishMessages = MessageUtil.loadLanguageMessages(plugin, "en");
-        englishMessages.forEach((key, value) -> MessageUtil.messages.put(key, MessageUtil.normalizePlaceholders(value)));
+        MessageUtil.DEFAULT_MESSAGES.forEach((key, value) -> loaded.put(key, MessageUtil.normalizePlaceholders(value)));
 
-        final Map<String, String> languageMessages = MessageUtil.loadLanguageMessages(plugin, language);
-        languageMessages.forEach((key, value) -> MessageUtil.messages.put(key, MessageUtil.normalizePlaceholders(value)));
+        final Map<String, String> englishMessages = overrides.containsKey("en")
+                ? overrides.get("en") : MessageUtil.loadLanguageMessages(plugin, "en");
+        englishMessages.forEach((key, value) -> loaded.put(key, MessageUtil.normalizePlaceholders(value)));
+
+        if (!"en".equals(language)) {
+            final Map<String, String> languageMessages = overrides.containsKey(language)
+                    ? overrides.get(language) : MessageUtil.loadLanguageMessages(plugin, language);
+            languageMessages.forEach((key, value) -> loaded.put(key, MessageUtil.normalizePlaceholders(value)));
+        }
 
         if ("small_caps".equals(style) && ("en".equals(language) || "de".equals(language))) {
-            for (final Map.Entry<String, String> entry : new HashMap<>(MessageUtil.messages).entrySet()) {
-                final String current = entry.getValue();
-                if (current != null) {
-                    MessageUtil.messages.put(entry.getKey(), MessageUtil.toSmallCapsPreservingTags(current));
-                }
+            loaded.replaceAll((key, current) -> current != null ? SmallCapsUtil.applyPreservingTags(current) : null);
+        }
+
+        final long start = System.nanoTime();
+        final Map<String, CompiledMessage> compiledMessages = new HashMap<>();
+        for (final Map.Entry<String, String> entry : loaded.entrySet()) {
+            final CompiledMessage message = MessageUtil.compile(entry.getValue());
+            if (message != null) {
+                compiledMessages.put(entry.getKey(), message);
             }
         }
+        return new LanguageBundle(language, Collections.unmodifiableMap(loaded), Collections.unmodifiableMap(compiledMessages),
+                System.nanoTime() - start);
+    }
+
+    private static String clientLanguage(final String locale) {
+        if (locale == null || locale.length() < 2) {
+            return null;
+        }
+        final String code = locale.substring(0, 2).toLowerCase(Locale.ROOT);
+        return MessageUtil.CLIENT_LANGUAGES.contains(code) ? code : null;
+    }
+
+    public static void updatePlayerLocale(final Player player, final String locale) {
+        final String language = MessageUtil.clientLanguage(locale);
+        if (language == null) {
+            MessageUtil.playerLanguages.remove(player.getUniqueId());
+            return;
+        }
+        MessageUtil.playerLanguages.put(player.getUniqueId(), language);
+        if (MessageUtil.useClientLocale) {
+            MessageUtil.preloadBundle(language);
+        }
+    }
 
-        MessageUtil.messageToggles.clear();
-        MessageUtil.messageToggles.put("press_to_boost", config.getBoolean("messages.show_press_to_boost", true));
-        MessageUtil.messageToggles.put("boost_activated", config.getBoolean("messages.show_boost_activated", true));
-        MessageUtil.messageToggles.put("creative_mode_elytra_disabled", config.getBoolean("messages.show_creative_disabled", false));
+    private static void preloadBundle(final String language) {
+        final Plugin owner = MessageUtil.plugin;
+        if (owner == null || MessageUtil.bundles.containsKey(language) || !MessageUtil.loadingBundles.add(language)) {
+            return;
+        }
+        SchedulerUtil.runAsync(owner, () -> {
+            try {
+                final Map<String, LanguageBundle> target = MessageUtil.bundles;
+                if (!target.containsKey(language)) {
+                    target.putIfAbsent(language, MessageUtil.loadBundle(owner, language, MessageUtil.style, Collections.emptyMap()));
+                }
+            } finally {
+                MessageUtil.loadingBundles.remove(language);
+            }
+        });
+    }
+
+    public static void forgetPlayer(final UUID uuid) {
+        MessageUtil.playerLanguages.remove(uuid);
+        MessageUtil.actionBars.remove(uuid);
+    }
+
+    private static LanguageBundle bundleFor(final CommandSender viewer) {
+        final LanguageBundle fallback = MessageUtil.defaultBundle;
+        if (!MessageUtil.useClientLocale || !(viewer instanceof final Player player) || MessageUtil.plugin == null) {
+            return fallback;
+        }
+        final String language = MessageUtil.playerLanguages.get(player.getUniqueId());
+        if (language == null || language.equals(fallback.language)) {
+            return fallback;
+        }
+        final LanguageBundle bundle = MessageUtil.bundles.get(language);
+        if (bundle == null) {
+            MessageUtil.preloadBundle(language);
+            return fallback;
+        }
+        return bundle;
     }
 
     private static Map<String, String> loadLanguageMessages(final Plugin plugin, final String language) {
@@ -295,59 +493,112 @@ public enum MessageUtil {
         return builder.toString();
     }
 
-    private static String toSmallCapsPreservingTags(final String input) {
-        if (input == null || input.isEmpty()) {
-            return input;
-        }
-        final StringBuilder out = new StringBuilder(input.length());
-        boolean inTag = false;
-        int depth = 0;
-        for (int i = 0; i < input.length(); i++) {
-            final char ch = input.charAt(i);
-            if ('<' == ch) {
-                inTag = true;
-                depth++;
-                out.append('<');
-                continue;
-            }
-            if ('>' == ch && inTag) {
-                out.append('>');
-                depth--;
-                if (depth <= 0) {
-                    inTag = false;
-                    depth = 0;
-                }
-                continue;
+    private static CompiledMessage compile(final String raw) {
+        if (raw == null) {
+            return null;
+        }
+        final TagResolver standard = TagResolver.standard();
+        final List<TagResolver> markers = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        final Matcher matcher = MessageUtil.PLACEHOLDER_TAG_PATTERN.matcher(raw);
+        while (matcher.find()) {
+            final String name = matcher.group(1);
+            if (!standard.has(name) && names.add(name)) {
+                markers.add(Placeholder.component(name, Component.text(PLACEHOLDER_MARK + name + PLACEHOLDER_MARK)));
             }
-            if (inTag) {
-                out.append(ch);
-            } else {
-                final char lower = Character.toLowerCase(ch);
-                final String mapped = MessageUtil.SMALL_CAPS_MAP.get(lower);
-                if (mapped != null) {
-                    out.append(mapped);
-                } else {
-                    out.append(ch);
-                }
+        }
+        try {
+            return markers.isEmpty()
+                    ? new CompiledMessage(MessageUtil.MM.deserialize(raw), false)
+                    : new CompiledMessage(MessageUtil.MM.deserialize(raw, TagResolver.resolver(markers)), true);
+        } catch (final RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Component fill(final Component template, final TagResolver... resolvers) {
+        final Map<String, Component> values = new HashMap<>();
+        for (final TagResolver resolver : resolvers) {
+            if (!(resolver instanceof final TagResolver.Single single) || !(single.tag() instanceof final Inserting inserting)) {
+                return null;
             }
+            values.put(single.key(), inserting.value());
         }
-        return out.toString();
+        return template.replaceText(TextReplacementConfig.builder()
+                .match(MessageUtil.PLACEHOLDER_MARKER_PATTERN)
+                .replacement((match, builder) -> {
+                    final Component value = values.get(match.group(1));
+                    return value != null ? value : Component.text("<" + match.group(1) + ">");
+                })
+                .build());
     }
 
     public static Component component(final String key, final TagResolver... resolvers) {
-        final String raw = MessageUtil.messages.getOrDefault(key, MessageUtil.DEFAULT_MESSAGES.getOrDefault(key, key));
+        return MessageUtil.component((CommandSender) null, key, resolvers);
+    }
+
+    public static Component component(final CommandSender viewer, final String key, final TagResolver... resolvers) {
+        final LanguageBundle bundle = MessageUtil.bundleFor(viewer);
+        final CompiledMessage message = bundle.compiled.get(key);
+        if (message != null) {
+            if (!message.template) {
+                MessageUtil.cacheHits.increment();
+                return message.component;
+            }
+            final Component filled = MessageUtil.fill(message.component, resolvers);
+            if (filled != null) {
+                MessageUtil.cacheHits.increment();
+                return filled;
+            }
+        }
+        MessageUtil.cacheMisses.increment();
+        final String raw = bundle.messages.getOrDefault(key, MessageUtil.DEFAULT_MESSAGES.getOrDefault(key, key));
         return MessageUtil.MM.deserialize(raw, resolvers);
     }
 
+    public static int getCompiledCount() {
+        int count = 0;
+        for (final LanguageBundle bundle : MessageUtil.bundles.values()) {
+            count += bundle.compiled.size();
+        }
+        return count;
+    }
+
+    public static double getCompileMillis() {
+        long nanos = 0L;
+        for (final LanguageBundle bundle : MessageUtil.bundles.values()) {
+            nanos += bundle.compileNanos;
+        }
+        return nanos / 1_000_000.0D;
+    }
+
+    public static List<String> getLoadedLanguages() {
+        final List<String> languages = new ArrayList<>(MessageUtil.bundles.keySet());
+        Collections.sort(languages);
+        return languages;
+    }
+
+    public static long getCacheHits() {
+        return MessageUtil.cacheHits.sum();
+    }
+
+    public static long getCacheMisses() {
+        return MessageUtil.cacheMisses.sum();
+    }
+
     public static String plain(final String key, final TagResolver... resolvers) {
         return MessageUtil.PLAIN.serialize(MessageUtil.component(key, resolvers));
     }
 
+    public static String plain(final CommandSender viewer, final String key, final TagResolver... resolvers) {
+        return MessageUtil.PLAIN.serialize(MessageUtil.component(viewer, key, resolvers));
+    }
+
     public static void send(final Player player, final String key, final TagResolver... resolvers) {
         if (player == null) {
             return;
         }
-        final Component component = MessageUtil.component(key, resolvers);
+        final Component component = MessageUtil.component(player, key, resolvers);
         
         if (isPaperNativeAdventure) {
             player.sendMessage(component);
@@ -362,7 +613,7 @@ public enum MessageUtil {
         if (sender == null) {
             return;
         }
-        final Component component = MessageUtil.component(key, resolvers);
+        final Component component = MessageUtil.component(sender, key, resolvers);
         
         if (isPaperNativeAdventure) {
             sender.sendMessage(component);
@@ -377,8 +628,57 @@ public enum MessageUtil {
         if (!MessageUtil.messageToggles.getOrDefault(key, true)) {
             return;
         }
-        final Component component = MessageUtil.component(key, resolvers);
-        
+        final Component component = MessageUtil.component(player, key, resolvers);
+        final int priority = MessageUtil.ACTION_BAR_PRIORITIES.getOrDefault(key, 0);
+        final ActionBarState state = MessageUtil.actionBars.computeIfAbsent(player.getUniqueId(), k -> new ActionBarState());
+        final long now = System.nanoTime();
+
+        synchronized (state) {
+            final boolean visible = state.shown != null && now - state.shownAt < ACTION_BAR_VISIBLE_NANOS;
+            if (visible && (priority < state.shownPriority || component.equals(state.shown))) {
+                MessageUtil.actionBarsDropped.increment();
+                return;
+            }
+            final long sinceShown = now - state.shownAt;
+            if (visible && priority == state.shownPriority && sinceShown < MessageUtil.actionBarThrottleNanos) {
+                state.pending = component;
+                state.pendingPriority = priority;
+                MessageUtil.actionBarsCoalesced.increment();
+                if (!state.flushScheduled && MessageUtil.plugin != null) {
+                    state.flushScheduled = true;
+                    final long delayTicks = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(MessageUtil.actionBarThrottleNanos - sinceShown) / 50L + 1L);
+                    SchedulerUtil.runAtEntityLater(MessageUtil.plugin, player, delayTicks, () -> MessageUtil.flushActionBar(player, state));
+                }
+                return;
+            }
+            state.pending = null;
+            state.show(component, priority, now);
+        }
+        MessageUtil.deliverActionBar(player, component);
+    }
+
+    private static void flushActionBar(final Player player, final ActionBarState state) {
+        final Component component;
+        synchronized (state) {
+            state.flushScheduled = false;
+            component = state.pending;
+            state.pending = null;
+            if (component == null || !player.isOnline()) {
+                return;
+            }
+            final long now = System.nanoTime();
+            final boolean visible = state.shown != null && now - state.shownAt < ACTION_BAR_VISIBLE_NANOS;
+            if (visible && (state.pendingPriority < state.shownPriority || component.equals(state.shown))) {
+                MessageUtil.actionBarsDropped.increment();
+                return;
+            }
+            state.show(component, state.pendingPriority, now);
+        }
+        MessageUtil.deliverActionBar(player, component);
+    }
+
+    private static void deliverActionBar(final Player player, final Component component) {
+        MessageUtil.actionBarsSent.increment();
         if (isPaperNativeAdventure) {
             player.sendActionBar(component);
         } else if (audiences != null) {
@@ -386,6 +686,18 @@ public enum MessageUtil {
         }
     }
 
+    public static long getActionBarsSent() {
+        return MessageUtil.actionBarsSent.sum();
+    }
+
+    public static long getActionBarsDropped() {
+        return MessageUtil.actionBarsDropped.sum();
+    }
+
+    public static long getActionBarsCoalesced() {
+        return MessageUtil.actionBarsCoalesced.sum();
+    }
+
     public static boolean isMessageEnabled(final String key) {
         return MessageUtil.messageToggles.getOrDefault(key, true);
     }
@@ -0,0 +1,65 @@
+package com.blaxk.spawnelytra.util;
+
+public enum SmallCapsUtil {
+    ;
+    private static final int TABLE_SIZE = 256;
+    private static final char SHARP_S = 'ß';
+    private static final char SMALL_CAPS_S = 'ꜱ';
+    private static final char[] TABLE = new char[TABLE_SIZE];
+
+    static {
+        final String plain = "abcdefghijklmnopqrstuvwxyzäöü";
+        final String mapped = "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘǫʀꜱᴛᴜᴠᴡxʏᴢäöü";
+        for (int i = 0; i < plain.length(); i++) {
+            SmallCapsUtil.TABLE[plain.charAt(i)] = mapped.charAt(i);
+        }
+        for (char ch = 0; ch < TABLE_SIZE; ch++) {
+            final char lower = Character.toLowerCase(ch);
+            if (lower < TABLE_SIZE && SmallCapsUtil.TABLE[ch] == 0) {
+                SmallCapsUtil.TABLE[ch] = SmallCapsUtil.TABLE[lower];
+            }
+        }
+    }
+
+    public static String applyPreservingTags(final String input) {
+        if (input == null || input.isEmpty()) {
+            return input;
+        }
+        final int length = input.length();
+        final char[] out = new char[length * 2];
+        int size = 0;
+        boolean inTag = false;
+        int depth = 0;
+        for (int i = 0; i < length; i++) {
+            final char ch = input.charAt(i);
+            if ('<' == ch) {
+                inTag = true;
+                depth++;
+                out[size++] = ch;
+                continue;
+            }
+            if ('>' == ch && inTag) {
+                out[size++] = ch;
+                depth--;
+                if (depth <= 0) {
+                    inTag = false;
+                    depth = 0;
+                }
+                continue;
+            }
+            if (inTag) {
+                out[size++] = ch;
+                continue;
+            }
+            final char lower = ch < TABLE_SIZE ? ch : Character.toLowerCase(ch);
+            if (SHARP_S == lower) {
+                out[size++] = SMALL_CAPS_S;
+                out[size++] = SMALL_CAPS_S;
+                continue;
+            }
+            final char mapped = lower < TABLE_SIZE ? SmallCapsUtil.TABLE[lower] : 0;
+            out[size++] = mapped != 0 ? mapped : ch;
+        }
+        return new String(out, 0, size);
+    }
+}
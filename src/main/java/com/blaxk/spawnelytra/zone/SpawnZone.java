@@ -0,0 +1,160 @@
+package com.blaxk.spawnelytra.zone;
+
+import com.blaxk.spawnelytra.listener.ActivationMode;
+
+public class SpawnZone {
+    private final String name;
+    private final int order;
+    private final boolean rectangular;
+    private final double centerX, centerY, centerZ;
+    private final double radius;
+    private final double radiusSquared;
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+    private final int boostStrength;
+    private final ActivationMode activationMode;
+    private String permission;
+
+    private SpawnZone(final String name, final int order, final boolean rectangular,
+                      final double centerX, final double centerY, final double centerZ, final double radius,
+                      final double minX, final double minY, final double minZ,
+                      final double maxX, final double maxY, final double maxZ,
+                      final int boostStrength, final ActivationMode activationMode) {
+        this.name = name;
+        this.order = order;
+        this.rectangular = rectangular;
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.radiusSquared = radius * radius;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.boostStrength = boostStrength;
+        this.activationMode = activationMode;
+    }
+
+    public static SpawnZone circular(final String name, final int order,
+                                     final double x, final double y, final double z, final double radius,
+                                     final int boostStrength, final ActivationMode activationMode) {
+        return new SpawnZone(name, order, false, x, y, z, radius,
+                x - radius, y - radius, z - radius, x + radius, y + radius, z + radius,
+                boostStrength, activationMode);
+    }
+
+    public static SpawnZone rectangular(final String name, final int order,
+                                        final double minX, final double minY, final double minZ,
+                                        final double maxX, final double maxY, final double maxZ,
+                                        final int boostStrength, final ActivationMode activationMode) {
+        return new SpawnZone(name, order, true,
+                (minX + maxX) / 2, (minY + maxY) / 2, (minZ + maxZ) / 2, 0,
+                minX, minY, minZ, maxX, maxY, maxZ,
+                boostStrength, activationMode);
+    }
+
+    public boolean boundsContain(final double x, final double y, final double z) {
+        return x >= this.minX && x <= this.maxX && y >= this.minY && y <= this.maxY && z >= this.minZ && z <= this.maxZ;
+    }
+
+    public boolean contains(final double x, final double y, final double z) {
+        if (!this.boundsContain(x, y, z)) {
+            return false;
+        }
+        if (this.rectangular) {
+            return true;
+        }
+        final double dx = x - this.centerX;
+        final double dy = y - this.centerY;
+        final double dz = z - this.centerZ;
+        return dx * dx + dy * dy + dz * dz <= this.radiusSquared;
+    }
+
+    public boolean containsWithin(final double x, final double y, final double z, final double margin) {
+        if (x < this.minX - margin || x > this.maxX + margin
+                || y < this.minY - margin || y > this.maxY + margin
+                || z < this.minZ - margin || z > this.maxZ + margin) {
+            return false;
+        }
+        if (this.rectangular) {
+            return true;
+        }
+        final double dx = x - this.centerX;
+        final double dy = y - this.centerY;
+        final double dz = z - this.centerZ;
+        final double reach = this.radius + margin;
+        return dx * dx + dy * dy + dz * dz <= reach * reach;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    public int getOrder() {
+        return this.order;
+    }
+
+    public boolean isRectangular() {
+        return this.rectangular;
+    }
+
+    public double getCenterX() {
+        return this.centerX;
+    }
+
+    public double getCenterY() {
+        return this.centerY;
+    }
+
+    public double getCenterZ() {
+        return this.centerZ;
+    }
+
+    public double getRadius() {
+        return this.radius;
+    }
+
+    public double getMinX() {
+        return this.minX;
+    }
+
+    public double getMinY() {
+        return this.minY;
+    }
+
+    public double getMinZ() {
+        return this.minZ;
+    }
+
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    public double getMaxZ() {
+        return this.maxZ;
+    }
+
+    public int getBoostStrength() {
+        return this.boostStrength;
+    }
+
+    public ActivationMode getActivationMode() {
+        return this.activationMode;
+    }
+
+    public String getPermission() {
+        return this.permission;
+    }
+
+    public SpawnZone withPermission(final String permission) {
+        this.permission = permission == null || permission.isEmpty() ? null : permission;
+        return this;
+    }
+}
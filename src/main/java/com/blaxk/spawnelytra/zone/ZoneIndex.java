@@ -0,0 +1,261 @@
+package com.blaxk.spawnelytra.zone;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ZoneIndex {
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+    private static final int CHUNK_SIZE = 16;
+    private static final SpawnZone[] NO_ZONES = new SpawnZone[0];
+
+    private static final class Cell {
+        final SpawnZone[] zones;
+        final double[] insideMinY;
+        final double[] insideMaxY;
+        final boolean[] edge;
+
+        Cell(final List<Entry> entries) {
+            entries.sort(Comparator.comparingInt(e -> e.zone.getOrder()));
+            final int size = entries.size();
+            this.zones = new SpawnZone[size];
+            this.insideMinY = new double[size];
+            this.insideMaxY = new double[size];
+            this.edge = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                final Entry entry = entries.get(i);
+                this.zones[i] = entry.zone;
+                this.insideMinY[i] = entry.insideMinY;
+                this.insideMaxY[i] = entry.insideMaxY;
+                this.edge[i] = entry.edge;
+            }
+        }
+    }
+
+    private static final class Entry {
+        final SpawnZone zone;
+        final double insideMinY;
+        final double insideMaxY;
+        final boolean edge;
+
+        Entry(final SpawnZone zone, final double insideMinY, final double insideMaxY, final boolean edge) {
+            this.zone = zone;
+            this.insideMinY = insideMinY;
+            this.insideMaxY = insideMaxY;
+            this.edge = edge;
+        }
+    }
+
+    private final List<SpawnZone> zones;
+    private final Map<String, SpawnZone> byName = new LinkedHashMap<>();
+    private final SpawnZone[] largeZones;
+
+    private final long[] keys;
+    private final Cell[] cells;
+    private final int mask;
+    private final int cellCount;
+    private final int insideCellCount;
+
+    private final LongAdder outsideHits = new LongAdder();
+    private final LongAdder insideHits = new LongAdder();
+    private final LongAdder edgeHits = new LongAdder();
+
+    public ZoneIndex(final List<SpawnZone> zones) {
+        this.zones = Collections.unmodifiableList(new ArrayList<>(zones));
+
+        final Map<Long, List<Entry>> grid = new HashMap<>();
+        final List<SpawnZone> large = new ArrayList<>();
+        for (final SpawnZone zone : this.zones) {
+            this.byName.putIfAbsent(zone.getName().toLowerCase(Locale.ROOT), zone);
+
+            final int minChunkX = ZoneIndex.chunk(zone.getMinX());
+            final int maxChunkX = ZoneIndex.chunk(zone.getMaxX());
+            final int minChunkZ = ZoneIndex.chunk(zone.getMinZ());
+            final int maxChunkZ = ZoneIndex.chunk(zone.getMaxZ());
+            final long footprint = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+            if (footprint > ZoneIndex.MAX_INDEXED_CHUNKS) {
+                large.add(zone);
+                continue;
+            }
+            for (int cx = minChunkX; cx <= maxChunkX; cx++) {
+                for (int cz = minChunkZ; cz <= maxChunkZ; cz++) {
+                    final Entry entry = ZoneIndex.classify(zone, cx, cz);
+                    if (entry != null) {
+                        grid.computeIfAbsent(ZoneIndex.key(cx, cz), k -> new ArrayList<>(2)).add(entry);
+                    }
+                }
+            }
+        }
+        this.largeZones = large.toArray(NO_ZONES);
+
+        int capacity = 16;
+        while (capacity < grid.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.cells = new Cell[capacity];
+        this.mask = capacity - 1;
+        this.cellCount = grid.size();
+        int inside = 0;
+        for (final Map.Entry<Long, List<Entry>> entry : grid.entrySet()) {
+            final long key = entry.getKey();
+            int slot = ZoneIndex.hash(key) & this.mask;
+            while (this.cells[slot] != null) {
+                slot = (slot + 1) & this.mask;
+            }
+            final Cell cell = new Cell(entry.getValue());
+            this.keys[slot] = key;
+            this.cells[slot] = cell;
+            for (int i = 0; i < cell.zones.length; i++) {
+                if (cell.insideMinY[i] <= cell.insideMaxY[i]) {
+                    inside++;
+                    break;
+                }
+            }
+        }
+        this.insideCellCount = inside;
+    }
+
+    private static Entry classify(final SpawnZone zone, final int chunkX, final int chunkZ) {
+        final double x0 = (double) chunkX * CHUNK_SIZE;
+        final double z0 = (double) chunkZ * CHUNK_SIZE;
+        final double x1 = x0 + CHUNK_SIZE;
+        final double z1 = z0 + CHUNK_SIZE;
+
+        if (zone.isRectangular()) {
+            final boolean covered = x0 >= zone.getMinX() && x1 <= zone.getMaxX()
+                    && z0 >= zone.getMinZ() && z1 <= zone.getMaxZ();
+            if (covered) {
+                return new Entry(zone, zone.getMinY(), zone.getMaxY(), false);
+            }
+            return new Entry(zone, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+        }
+
+        final double cx = zone.getCenterX();
+        final double cz = zone.getCenterZ();
+        final double radiusSquared = zone.getRadius() * zone.getRadius();
+
+        final double nearX = Math.max(0.0, Math.max(x0 - cx, cx - x1));
+        final double nearZ = Math.max(0.0, Math.max(z0 - cz, cz - z1));
+        if (nearX * nearX + nearZ * nearZ > radiusSquared) {
+            return null;
+        }
+
+        final double farX = Math.max(Math.abs(cx - x0), Math.abs(cx - x1));
+        final double farZ = Math.max(Math.abs(cz - z0), Math.abs(cz - z1));
+        final double farSquared = farX * farX + farZ * farZ;
+        if (farSquared > radiusSquared) {
+            return new Entry(zone, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, true);
+        }
+        final double halfHeight = Math.sqrt(radiusSquared - farSquared);
+        return new Entry(zone, zone.getCenterY() - halfHeight, zone.getCenterY() + halfHeight, true);
+    }
+
+    public SpawnZone zoneAt(final double x, final double y, final double z) {
+        SpawnZone best = null;
+        boolean geometry = false;
+
+        final Cell cell = this.cellAt(ZoneIndex.chunk(x), ZoneIndex.chunk(z));
+        if (cell != null) {
+            for (int i = 0; i < cell.zones.length; i++) {
+                if (y >= cell.insideMinY[i] && y <= cell.insideMaxY[i]) {
+                    best = cell.zones[i];
+                    break;
+                }
+                if (cell.edge[i]) {
+                    geometry = true;
+                    if (cell.zones[i].contains(x, y, z)) {
+                        best = cell.zones[i];
+                        break;
+                    }
+                }
+            }
+        }
+
+        for (final SpawnZone zone : this.largeZones) {
+            if ((best == null || zone.getOrder() < best.getOrder()) && zone.boundsContain(x, y, z)) {
+                geometry = true;
+                if (zone.contains(x, y, z)) {
+                    best = zone;
+                }
+            }
+        }
+
+        if (geometry) {
+            this.edgeHits.increment();
+        } else if (best != null) {
+            this.insideHits.increment();
+        } else {
+            this.outsideHits.increment();
+        }
+        return best;
+    }
+
+    private Cell cellAt(final int chunkX, final int chunkZ) {
+        final long key = ZoneIndex.key(chunkX, chunkZ);
+        int slot = ZoneIndex.hash(key) & this.mask;
+        Cell cell;
+        while ((cell = this.cells[slot]) != null) {
+            if (this.keys[slot] == key) {
+                return cell;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return null;
+    }
+
+    public SpawnZone getZone(final String name) {
+        return name == null ? null : this.byName.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public List<SpawnZone> getZones() {
+        return this.zones;
+    }
+
+    public boolean isEmpty() {
+        return this.zones.isEmpty();
+    }
+
+    public int getIndexedCellCount() {
+        return this.cellCount;
+    }
+
+    public int getInsideCellCount() {
+        return this.insideCellCount;
+    }
+
+    public int getLargeZoneCount() {
+        return this.largeZones.length;
+    }
+
+    public long getOutsideHits() {
+        return this.outsideHits.sum();
+    }
+
+    public long getInsideHits() {
+        return this.insideHits.sum();
+    }
+
+    public long getEdgeHits() {
+        return this.edgeHits.sum();
+    }
+
+    private static int chunk(final double coordinate) {
+        return ((int) Math.floor(coordinate)) >> 4;
+    }
+
+    private static long key(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
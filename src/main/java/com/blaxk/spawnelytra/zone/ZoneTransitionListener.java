@@ -0,0 +1,9 @@
+package com.blaxk.spawnelytra.zone;
+
+import org.bukkit.entity.Player;
+
+public interface ZoneTransitionListener {
+    void onZoneEnter(Player player, SpawnZone zone);
+
+    void onZoneLeave(Player player, SpawnZone zone);
+}
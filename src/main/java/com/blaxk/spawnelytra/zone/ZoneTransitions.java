@@ -0,0 +1,86 @@
+package com.blaxk.spawnelytra.zone;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+public class ZoneTransitions {
+    private static final int WINDOW_SECONDS = 60;
+
+    private final JavaPlugin plugin;
+    private final List<ZoneTransitionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final long[] bucketSeconds = new long[WINDOW_SECONDS];
+    private final long[] bucketCounts = new long[WINDOW_SECONDS];
+    private final AtomicLong enters = new AtomicLong();
+    private final AtomicLong leaves = new AtomicLong();
+
+    public ZoneTransitions(final JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public void addListener(final ZoneTransitionListener listener) {
+        this.listeners.add(listener);
+    }
+
+    public void removeListener(final ZoneTransitionListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    public void enter(final Player player, final SpawnZone zone) {
+        this.enters.incrementAndGet();
+        this.record();
+        for (final ZoneTransitionListener listener : this.listeners) {
+            try {
+                listener.onZoneEnter(player, zone);
+            } catch (final RuntimeException e) {
+                this.plugin.getLogger().log(Level.WARNING, "Zone enter listener failed for zone '" + zone.getName() + "'", e);
+            }
+        }
+    }
+
+    public void leave(final Player player, final SpawnZone zone) {
+        this.leaves.incrementAndGet();
+        this.record();
+        for (final ZoneTransitionListener listener : this.listeners) {
+            try {
+                listener.onZoneLeave(player, zone);
+            } catch (final RuntimeException e) {
+                this.plugin.getLogger().log(Level.WARNING, "Zone leave listener failed for zone '" + zone.getName() + "'", e);
+            }
+        }
+    }
+
+    private synchronized void record() {
+        final long second = System.currentTimeMillis() / 1000L;
+        final int slot = (int) (second % WINDOW_SECONDS);
+        if (this.bucketSeconds[slot] != second) {
+            this.bucketSeconds[slot] = second;
+            this.bucketCounts[slot] = 0;
+        }
+        this.bucketCounts[slot]++;
+    }
+
+    public synchronized long getTransitionsPerMinute() {
+        final long second = System.currentTimeMillis() / 1000L;
+        long total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (second - this.bucketSeconds[i] < WINDOW_SECONDS) {
+                total += this.bucketCounts[i];
+            }
+        }
+        return total;
+    }
+
+    public long getEnterCount() {
+        return this.enters.get();
+    }
+
+    public long getLeaveCount() {
+        return this.leaves.get();
+    }
+}
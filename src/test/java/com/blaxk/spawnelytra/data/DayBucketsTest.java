@@ -0,0 +1,88 @@
+package com.blaxk.spawnelytra.data;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DayBucketsTest {
+    private static final int THREADS = 16;
+    private static final int INCREMENTS = 20000;
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        final DayBuckets buckets = new DayBuckets();
+        final long today = DayBuckets.today();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                final int id = thread;
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < INCREMENTS; i++) {
+                        final long day = today - (i + id) % 7;
+                        buckets.add(id % 2 == 0 ? PlayerDataStore.Statistic.FLY_COUNT : PlayerDataStore.Statistic.BOOST_COUNT, day, 1);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int perStatistic = THREADS / 2 * INCREMENTS;
+        assertEquals(perStatistic, buckets.sum(PlayerDataStore.Statistic.FLY_COUNT, 7, today));
+        assertEquals(perStatistic, buckets.sum(PlayerDataStore.Statistic.BOOST_COUNT, 7, today));
+        assertEquals(2 * perStatistic, buckets.sum(PlayerDataStore.Statistic.TOTAL, 30, today));
+    }
+
+    @Test
+    void dropsDaysOutsideTheWindow() {
+        final DayBuckets buckets = new DayBuckets();
+        final long today = DayBuckets.today();
+        buckets.add(PlayerDataStore.Statistic.FLY_COUNT, today, 3);
+        buckets.add(PlayerDataStore.Statistic.FLY_COUNT, today - DayBuckets.DAYS, 5);
+        assertEquals(3, buckets.get(PlayerDataStore.Statistic.FLY_COUNT, today));
+        assertEquals(0, buckets.get(PlayerDataStore.Statistic.FLY_COUNT, today - DayBuckets.DAYS));
+        assertEquals(3, buckets.sum(PlayerDataStore.Statistic.FLY_COUNT, 30, today));
+
+        buckets.add(PlayerDataStore.Statistic.FLY_COUNT, today + DayBuckets.DAYS, 1);
+        assertEquals(0, buckets.get(PlayerDataStore.Statistic.FLY_COUNT, today));
+    }
+
+    @Test
+    void roundTripsAndRaises() {
+        final long today = DayBuckets.today();
+        final DayBuckets buckets = new DayBuckets();
+        buckets.add(PlayerDataStore.Statistic.FLY_COUNT, today, 4);
+        buckets.add(PlayerDataStore.Statistic.BOOST_COUNT, today - 3, 2);
+
+        final DayBuckets copy = DayBuckets.fromBytes(buckets.toBytes());
+        assertArrayEquals(buckets.counts(PlayerDataStore.Statistic.TOTAL, today), copy.counts(PlayerDataStore.Statistic.TOTAL, today));
+
+        final DayBuckets other = new DayBuckets();
+        other.add(PlayerDataStore.Statistic.FLY_COUNT, today, 6);
+        other.add(PlayerDataStore.Statistic.BOOST_COUNT, today - 3, 1);
+        assertTrue(copy.raiseTo(other));
+        assertEquals(6, copy.get(PlayerDataStore.Statistic.FLY_COUNT, today));
+        assertEquals(2, copy.get(PlayerDataStore.Statistic.BOOST_COUNT, today - 3));
+        assertFalse(copy.raiseTo(other));
+        assertTrue(new DayBuckets().isEmpty());
+        assertFalse(copy.isEmpty());
+    }
+}
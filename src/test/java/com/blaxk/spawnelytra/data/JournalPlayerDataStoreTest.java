@@ -0,0 +1,103 @@
+package com.blaxk.spawnelytra.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalPlayerDataStoreTest {
+    private static final Logger LOGGER = Logger.getLogger(JournalPlayerDataStoreTest.class.getName());
+
+    @TempDir
+    Path folder;
+
+    private JournalPlayerDataStore open() throws IOException {
+        return new JournalPlayerDataStore(this.folder.toFile(), 100000L, LOGGER);
+    }
+
+    @Test
+    void discardsTruncatedTail() throws IOException {
+        final UUID uuid = UUID.randomUUID();
+        final JournalPlayerDataStore store = this.open();
+        store.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 5, 3)));
+        store.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 7, 4)));
+        final Path journal = this.folder.resolve("journal.dat");
+        final byte[] crashed = Files.readAllBytes(journal);
+        store.close();
+
+        // The process died halfway through the last record, before any compaction.
+        Files.delete(this.folder.resolve("snapshot.dat"));
+        Files.write(journal, Arrays.copyOf(crashed, crashed.length - 10));
+
+        final JournalPlayerDataStore reopened = this.open();
+        final PlayerDataManager.PlayerData data = reopened.load(uuid);
+        assertEquals(7, data.getFlyCount());
+        assertEquals(3, data.getBoostCount());
+
+        reopened.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 8, 4)));
+        reopened.close();
+        final JournalPlayerDataStore replayed = this.open();
+        assertEquals(8, replayed.load(uuid).getFlyCount());
+        assertEquals(4, replayed.load(uuid).getBoostCount());
+        replayed.close();
+    }
+
+    @Test
+    void ignoresJournalAlreadyFoldedIntoSnapshot() throws IOException {
+        final UUID uuid = UUID.randomUUID();
+        final JournalPlayerDataStore store = this.open();
+        store.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 5, 3)));
+        store.compact();
+        store.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 7, 4)));
+        final Path journal = this.folder.resolve("journal.dat");
+        final byte[] beforeCompaction = Files.readAllBytes(journal);
+        store.compact();
+        store.close();
+
+        // The snapshot was replaced but the process died before the journal was truncated.
+        Files.write(journal, beforeCompaction);
+
+        final JournalPlayerDataStore reopened = this.open();
+        assertEquals(7, reopened.load(uuid).getFlyCount());
+        assertEquals(4, reopened.load(uuid).getBoostCount());
+
+        reopened.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 9, 4)));
+        reopened.close();
+        final JournalPlayerDataStore replayed = this.open();
+        assertEquals(9, replayed.load(uuid).getFlyCount());
+        assertEquals(4, replayed.load(uuid).getBoostCount());
+        replayed.close();
+    }
+
+    @Test
+    void writesSaturatedDayBuckets() throws IOException {
+        final UUID uuid = UUID.randomUUID();
+        final long today = DayBuckets.today();
+        final DayBuckets windows = new DayBuckets();
+        for (int age = 0; age < DayBuckets.DAYS; age++) {
+            windows.add(PlayerDataStore.Statistic.FLY_COUNT, today - age, 0xFFFF);
+            windows.add(PlayerDataStore.Statistic.BOOST_COUNT, today - age, 0xFFFF);
+        }
+
+        final JournalPlayerDataStore store = this.open();
+        store.saveBatch(List.of(new PlayerDataManager.PlayerData(uuid, 1, 1, windows)));
+        store.close();
+
+        final JournalPlayerDataStore reopened = this.open();
+        final DayBuckets loaded = reopened.load(uuid).getWindows();
+        assertArrayEquals(windows.counts(PlayerDataStore.Statistic.FLY_COUNT, today),
+                loaded.counts(PlayerDataStore.Statistic.FLY_COUNT, today));
+        assertArrayEquals(windows.counts(PlayerDataStore.Statistic.BOOST_COUNT, today),
+                loaded.counts(PlayerDataStore.Statistic.BOOST_COUNT, today));
+        reopened.close();
+    }
+}
@@ -0,0 +1,122 @@
+package com.blaxk.spawnelytra.util;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmallCapsUtilTest {
+    private static final Map<Character, String> MAP = new HashMap<>();
+
+    static {
+        final String plain = "abcdefghijklmnopqrstuvwxyzäöü";
+        final String mapped = "ᴀʙᴄᴅᴇꜰɢʜɪᴊᴋʟᴍɴᴏᴘǫʀꜱᴛᴜᴠᴡxʏᴢäöü";
+        for (int i = 0; i < plain.length(); i++) {
+            MAP.put(plain.charAt(i), String.valueOf(mapped.charAt(i)));
+        }
+        MAP.put('ß', "ꜱꜱ");
+    }
+
+    private static String mapBased(final String input) {
+        final StringBuilder out = new StringBuilder(input.length());
+        boolean inTag = false;
+        int depth = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final char ch = input.charAt(i);
+            if ('<' == ch) {
+                inTag = true;
+                depth++;
+                out.append('<');
+                continue;
+            }
+            if ('>' == ch && inTag) {
+                out.append('>');
+                depth--;
+                if (depth <= 0) {
+                    inTag = false;
+                    depth = 0;
+                }
+                continue;
+            }
+            if (inTag) {
+                out.append(ch);
+            } else {
+                final String mapped = MAP.get(Character.toLowerCase(ch));
+                out.append(mapped != null ? mapped : ch);
+            }
+        }
+        return out.toString();
+    }
+
+    private static List<String> corpus() throws IOException {
+        final List<String> messages = new ArrayList<>(List.of("Straße", "STRASSE ẞ", "ÄÖÜ äöü", "Q q",
+                "<bold>Boost</bold> activated", "<hover:show_text:'<red>Nested'>Hover</hover> done", "a > b < c"));
+        try (final Stream<Path> files = Files.list(Path.of("src", "main", "resources", "lang"))) {
+            for (final Path file : files.filter(path -> path.toString().endsWith(".yml")).toList()) {
+                for (final String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    final int colon = line.indexOf(": ");
+                    if (colon > 0 && !line.startsWith("#")) {
+                        messages.add(line.substring(colon + 2));
+                    }
+                }
+            }
+        }
+        return messages;
+    }
+
+    @Test
+    void matchesMapBasedTransliteration() throws IOException {
+        final List<String> corpus = SmallCapsUtilTest.corpus();
+        assertTrue(corpus.size() > 100);
+        for (final String message : corpus) {
+            assertEquals(SmallCapsUtilTest.mapBased(message), SmallCapsUtil.applyPreservingTags(message), message);
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkAgainstMapBasedTransliteration() throws IOException {
+        final List<String> corpus = SmallCapsUtilTest.corpus();
+        final long chars = corpus.stream().mapToLong(String::length).sum();
+        for (int warmup = 0; warmup < 50; warmup++) {
+            SmallCapsUtilTest.run(corpus, true);
+            SmallCapsUtilTest.run(corpus, false);
+        }
+        final int passes = 200;
+        final long mapNanos = SmallCapsUtilTest.time(corpus, false, passes);
+        final long tableNanos = SmallCapsUtilTest.time(corpus, true, passes);
+        System.out.printf("small caps over %d messages (%d chars) x %d: map %.2f ns/char, table %.2f ns/char (%.1fx)%n",
+                corpus.size(), chars, passes, (double) mapNanos / (chars * passes), (double) tableNanos / (chars * passes),
+                (double) mapNanos / tableNanos);
+    }
+
+    private static long time(final List<String> corpus, final boolean table, final int passes) {
+        final long start = System.nanoTime();
+        int sink = 0;
+        for (int pass = 0; pass < passes; pass++) {
+            sink += SmallCapsUtilTest.run(corpus, table);
+        }
+        final long elapsed = System.nanoTime() - start;
+        assertTrue(sink > 0);
+        return elapsed;
+    }
+
+    private static int run(final List<String> corpus, final boolean table) {
+        int length = 0;
+        for (final String message : corpus) {
+            length += (table ? SmallCapsUtil.applyPreservingTags(message) : SmallCapsUtilTest.mapBased(message)).length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.blaxk.spawnelytra.zone;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZoneIndexTest {
+    private static final int LOOKUPS = 200_000;
+
+    private static ZoneIndex index() {
+        return new ZoneIndex(List.of(
+                SpawnZone.circular("spawn", 0, 0.0, 64.0, 0.0, 100.0, 2, null),
+                SpawnZone.rectangular("hub", 1, 200.0, 0.0, 200.0, 264.0, 128.0, 264.0, 2, null),
+                SpawnZone.rectangular("world", 2, -100000.0, 0.0, -100000.0, 100000.0, 16.0, 100000.0, 2, null)));
+    }
+
+    @Test
+    void findsZonesInOrder() {
+        final ZoneIndex index = ZoneIndexTest.index();
+        assertSame(index.getZone("spawn"), index.zoneAt(10.5, 64.0, -3.5));
+        assertSame(index.getZone("hub"), index.zoneAt(230.0, 100.0, 230.0));
+        assertSame(index.getZone("spawn"), index.zoneAt(0.0, 10.0, 0.0));
+        assertSame(index.getZone("world"), index.zoneAt(5000.0, 10.0, 5000.0));
+        assertNull(index.zoneAt(99.0, 150.0, 99.0));
+        assertEquals(1, index.getLargeZoneCount());
+    }
+
+    @Test
+    void countsCellsInsideCircularZones() {
+        final ZoneIndex index = new ZoneIndex(List.of(SpawnZone.circular("spawn", 0, 0.0, 64.0, 0.0, 100.0, 2, null)));
+        assertTrue(index.getInsideCellCount() > 0);
+        assertTrue(index.getInsideCellCount() < index.getIndexedCellCount());
+    }
+
+    @Test
+    void lookupDoesNotAllocate() {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final ZoneIndex index = ZoneIndexTest.index();
+        final long thread = Thread.currentThread().threadId();
+        int found = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            found += ZoneIndexTest.walk(index);
+        }
+
+        final long before = threads.getThreadAllocatedBytes(thread);
+        found += ZoneIndexTest.walk(index);
+        final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(found > 0);
+        final double perLookup = (double) allocated / LOOKUPS;
+        System.out.printf("ZoneIndex.zoneAt: %d lookups, %d bytes allocated (%.4f bytes/lookup)%n", LOOKUPS, allocated, perLookup);
+        assertTrue(perLookup < 0.01, "zoneAt allocated " + perLookup + " bytes per lookup");
+    }
+
+    private static int walk(final ZoneIndex index) {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            final double x = (i % 700) - 350.0 + 0.25;
+            final double z = ((i / 700) % 700) - 350.0 + 0.75;
+            if (index.zoneAt(x, 40.0 + (i & 63), z) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}